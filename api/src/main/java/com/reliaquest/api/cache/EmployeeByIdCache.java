@@ -0,0 +1,110 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.reliaquest.api.client.Versioned;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded per-id employee cache (Caffeine, W-TinyLFU eviction). Filled by by-id reads and creates, invalidated by
+ * deletes.
+ *
+ * <p>An entry is served for {@code ttl-ms} after it was fetched or last revalidated, then kept for up to
+ * {@code revalidate-ms} more so the next read can send its ETag and keep it on a 304 instead of downloading it again.
+ * Only entries actually served count as hits.
+ */
+@Component
+public class EmployeeByIdCache {
+
+    private record Entry(EmployeeDTO employee, String etag, long validatedAtMillis) {}
+
+    private final Cache<String, Entry> cache;
+
+    private final ConcurrentStatsCounter stats = new ConcurrentStatsCounter();
+
+    private final long ttlMillis;
+
+    public EmployeeByIdCache(
+            @Value("${employee-cache.max-size:10000}") long maxSize,
+            @Value("${employee-cache.ttl-ms:60000}") long ttlMillis,
+            @Value("${employee-cache.revalidate-ms:240000}") long revalidateMillis) {
+        this.ttlMillis = ttlMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis + Math.max(0, revalidateMillis)))
+                .recordStats(() -> stats)
+                .build();
+    }
+
+    public Optional<EmployeeDTO> get(String id) {
+        // Read through the map view, which records no stats: a stale entry is a miss, not a hit.
+        Entry entry = cache.asMap().get(key(id));
+        if (entry != null && isFresh(entry)) {
+            stats.recordHits(1);
+            return Optional.of(entry.employee());
+        }
+        stats.recordMisses(1);
+        return Optional.empty();
+    }
+
+    /** ETag of a held entry, fresh or not, to send as {@code If-None-Match}. */
+    public Optional<String> etag(String id) {
+        return Optional.ofNullable(cache.asMap().get(key(id))).map(Entry::etag);
+    }
+
+    /** Marks the entry as confirmed unchanged upstream, making it fresh again; empty if it has been evicted. */
+    public Optional<EmployeeDTO> revalidated(String id) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.asMap()
+                .computeIfPresent(key(id), (key, held) -> new Entry(held.employee(), held.etag(), now));
+        return Optional.ofNullable(entry).map(Entry::employee);
+    }
+
+    public void put(EmployeeDTO employee) {
+        put(new Versioned<>(employee, null));
+    }
+
+    public void put(Versioned<EmployeeDTO> fetched) {
+        EmployeeDTO employee = fetched.value();
+        if (employee != null && employee.getId() != null) {
+            cache.put(employee.getId().toString(), new Entry(employee, fetched.etag(), System.currentTimeMillis()));
+        }
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(key(id));
+    }
+
+    /** Drops every employee with this name, ignoring case, for a delete by name that cannot tell which one went. */
+    public void invalidateNamed(String name) {
+        cache.asMap().values().removeIf(entry -> name.equalsIgnoreCase(entry.employee().getName()));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private boolean isFresh(Entry entry) {
+        return System.currentTimeMillis() - entry.validatedAtMillis() < ttlMillis;
+    }
+
+    /** Canonical UUID form, so differently cased ids share an entry. */
+    private static String key(String id) {
+        try {
+            return UUID.fromString(id).toString();
+        } catch (IllegalArgumentException e) {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Case-insensitive substring index over employee names backed by trigram posting lists.
+ *
+ * <p>Names and queries are normalized the same way (NFKD, combining marks stripped, lower-cased with
+ * {@link Locale#ROOT}), so {@code "jose"} matches {@code "José"}. Each trigram of a normalized name maps to the roster
+ * keys of the names holding it. A query of three or more characters intersects the posting lists of its trigrams,
+ * smallest first, and only verifies the few surviving candidates with {@link String#contains}. Shorter queries fall
+ * back to a scan of the normalized names. Results come back in roster key order, which is roster order.
+ *
+ * <p>Persistent, like the {@link Roster} that holds it. A bulk-built base keeps sorted {@code int[]} posting lists;
+ * {@link #with} and {@link #without} return a new index in O(log n) that records the change in small persistent maps
+ * next to the shared base. Once those pending changes reach a quarter of the base, the next change folds them into a
+ * new base, so churn costs amortized O(1) per change and never grows the index past the live roster.
+ */
+public final class NameIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final int GRAM = 3;
+
+    /** Pending changes tolerated before folding regardless of the base size, so small indexes are not rebuilt often. */
+    private static final int MIN_PENDING_TO_COMPACT = 64;
+
+    private static final NameIndex EMPTY = fresh(Base.of(List.of()));
+
+    private final Base base;
+
+    /** Base slots removed since the base was built. */
+    private final PersistentSortedMap<Integer, Boolean> removed;
+
+    /** Names added since the base was built, by roster key. */
+    private final PersistentSortedMap<Long, Entry> added;
+
+    /** Posting lists of the added names: trigram to the added entries holding it, by roster key. */
+    private final PersistentSortedMap<Long, PersistentSortedMap<Long, Entry>> addedPostings;
+
+    private NameIndex(
+            Base base,
+            PersistentSortedMap<Integer, Boolean> removed,
+            PersistentSortedMap<Long, Entry> added,
+            PersistentSortedMap<Long, PersistentSortedMap<Long, Entry>> addedPostings) {
+        this.base = base;
+        this.removed = removed;
+        this.added = added;
+        this.addedPostings = addedPostings;
+    }
+
+    /** Indexes a full roster in one pass, keyed by position as {@link Roster#of} keys it. */
+    public static NameIndex of(Collection<EmployeeDTO> roster) {
+        List<Long> keys = new ArrayList<>(roster.size());
+        for (long key = 0; key < roster.size(); key++) {
+            keys.add(key);
+        }
+        return of(keys, List.copyOf(roster));
+    }
+
+    /** Indexes {@code employees} under the matching roster {@code keys}, which ascend, in one pass. */
+    static NameIndex of(List<Long> keys, List<EmployeeDTO> employees) {
+        List<Entry> entries = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            EmployeeDTO employee = employees.get(i);
+            if (employee.getName() != null) {
+                entries.add(new Entry(keys.get(i), employee, normalize(employee.getName())));
+            }
+        }
+        return entries.isEmpty() ? EMPTY : fresh(Base.of(entries));
+    }
+
+    public static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /** This index with the employee under roster key {@code key}, which must be new to it; unchanged if unnamed. */
+    NameIndex with(long key, EmployeeDTO employee) {
+        if (employee.getName() == null) {
+            return this;
+        }
+        Entry entry = new Entry(key, employee, normalize(employee.getName()));
+        PersistentSortedMap<Long, PersistentSortedMap<Long, Entry>> postings = addedPostings;
+        for (long gram : trigrams(entry.normalized())) {
+            PersistentSortedMap<Long, Entry> list = postings.get(gram);
+            if (list == null) {
+                list = PersistentSortedMap.empty();
+            }
+            postings = postings.put(gram, list.put(key, entry));
+        }
+        return new NameIndex(base, removed, added.put(key, entry), postings).compactIfDue();
+    }
+
+    /** This index without the employee under roster key {@code key}; unchanged if it is not indexed. */
+    NameIndex without(long key) {
+        Entry entry = added.get(key);
+        if (entry != null) {
+            PersistentSortedMap<Long, PersistentSortedMap<Long, Entry>> postings = addedPostings;
+            for (long gram : trigrams(entry.normalized())) {
+                PersistentSortedMap<Long, Entry> list = postings.get(gram).remove(key);
+                postings = list.isEmpty() ? postings.remove(gram) : postings.put(gram, list);
+            }
+            return new NameIndex(base, removed, added.remove(key), postings).compactIfDue();
+        }
+        int slot = base.slotOf(key);
+        if (slot < 0 || removed.get(slot) != null) {
+            return this;
+        }
+        return new NameIndex(base, removed.put(slot, Boolean.TRUE), added, addedPostings).compactIfDue();
+    }
+
+    /** Employees whose normalized name contains the normalized {@code fragment}, in roster order. */
+    public List<EmployeeDTO> search(String fragment) {
+        String query = normalize(fragment);
+        if (query.length() < GRAM) {
+            return merge(scanBase(query), matching(added.values(), query));
+        }
+        Set<Long> grams = trigrams(query);
+        return merge(searchBase(grams, query), searchAdded(grams, query));
+    }
+
+    /** Live names indexed. */
+    public int size() {
+        return base.entries.length - removed.size() + added.size();
+    }
+
+    /** Entries held, live or not; stays within a small multiple of the live count, whatever the churn. */
+    int capacity() {
+        return base.entries.length + added.size();
+    }
+
+    private NameIndex compactIfDue() {
+        int pending = removed.size() + added.size();
+        if (pending < MIN_PENDING_TO_COMPACT || pending * 4 <= base.entries.length) {
+            return this;
+        }
+        List<Entry> live = new ArrayList<>(size());
+        for (int slot = 0; slot < base.entries.length; slot++) {
+            if (removed.get(slot) == null) {
+                live.add(base.entries[slot]);
+            }
+        }
+        live.addAll(added.values());
+        live.sort(Comparator.comparingLong(Entry::key));
+        return fresh(Base.of(live));
+    }
+
+    private List<Entry> scanBase(String query) {
+        List<Entry> matches = new ArrayList<>();
+        for (int slot = 0; slot < base.entries.length; slot++) {
+            if (removed.get(slot) == null && base.entries[slot].normalized().contains(query)) {
+                matches.add(base.entries[slot]);
+            }
+        }
+        return matches;
+    }
+
+    private List<Entry> searchBase(Set<Long> grams, String query) {
+        List<int[]> lists = new ArrayList<>();
+        for (long gram : grams) {
+            int[] list = base.postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        List<Entry> matches = new ArrayList<>();
+        candidates:
+        for (int slot : lists.get(0)) {
+            for (int l = 1; l < lists.size(); l++) {
+                if (Arrays.binarySearch(lists.get(l), slot) < 0) {
+                    continue candidates;
+                }
+            }
+            if (removed.get(slot) == null && base.entries[slot].normalized().contains(query)) {
+                matches.add(base.entries[slot]);
+            }
+        }
+        return matches;
+    }
+
+    private List<Entry> searchAdded(Set<Long> grams, String query) {
+        PersistentSortedMap<Long, Entry> smallest = null;
+        for (long gram : grams) {
+            PersistentSortedMap<Long, Entry> list = addedPostings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            if (smallest == null || list.size() < smallest.size()) {
+                smallest = list;
+            }
+        }
+        return matching(smallest.values(), query);
+    }
+
+    private static List<Entry> matching(List<Entry> entries, String query) {
+        List<Entry> matches = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.normalized().contains(query)) {
+                matches.add(entry);
+            }
+        }
+        return matches;
+    }
+
+    /** Merges two key-ordered match lists into one list of employees in key order. */
+    private static List<EmployeeDTO> merge(List<Entry> left, List<Entry> right) {
+        List<EmployeeDTO> merged = new ArrayList<>(left.size() + right.size());
+        int l = 0;
+        int r = 0;
+        while (l < left.size() || r < right.size()) {
+            boolean takeLeft = r == right.size() || (l < left.size() && left.get(l).key() < right.get(r).key());
+            merged.add((takeLeft ? left.get(l++) : right.get(r++)).employee());
+        }
+        return merged;
+    }
+
+    private static Set<Long> trigrams(String normalized) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(((long) normalized.charAt(i) << 32)
+                    | ((long) normalized.charAt(i + 1) << 16)
+                    | normalized.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static NameIndex fresh(Base base) {
+        return new NameIndex(
+                base, PersistentSortedMap.empty(), PersistentSortedMap.empty(), PersistentSortedMap.empty());
+    }
+
+    private record Entry(long key, EmployeeDTO employee, String normalized) {}
+
+    /** Entries in key order, never modified once built; posting lists hold sorted slots into {@code entries}. */
+    private static final class Base {
+
+        private final Entry[] entries;
+
+        private final long[] keys;
+
+        private final Map<Long, int[]> postings;
+
+        private Base(Entry[] entries, long[] keys, Map<Long, int[]> postings) {
+            this.entries = entries;
+            this.keys = keys;
+            this.postings = postings;
+        }
+
+        /** Builds a base from entries already in ascending key order. */
+        static Base of(List<Entry> entries) {
+            Entry[] slots = entries.toArray(Entry[]::new);
+            long[] keys = new long[slots.length];
+            Map<Long, int[]> lists = new HashMap<>();
+            Map<Long, Integer> sizes = new HashMap<>();
+            for (int slot = 0; slot < slots.length; slot++) {
+                keys[slot] = slots[slot].key();
+                for (long gram : trigrams(slots[slot].normalized())) {
+                    int size = sizes.merge(gram, 1, Integer::sum);
+                    int[] list = lists.computeIfAbsent(gram, ignored -> new int[4]);
+                    if (size > list.length) {
+                        list = Arrays.copyOf(list, list.length * 2);
+                        lists.put(gram, list);
+                    }
+                    list[size - 1] = slot;
+                }
+            }
+            lists.replaceAll((gram, list) -> Arrays.copyOf(list, sizes.get(gram)));
+            return new Base(slots, keys, lists);
+        }
+
+        /** Slot of {@code key}, or a negative number when the base does not hold it. */
+        int slotOf(long key) {
+            return Arrays.binarySearch(keys, key);
+        }
+    }
+}
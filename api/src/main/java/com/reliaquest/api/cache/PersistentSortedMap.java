@@ -0,0 +1,294 @@
+package com.reliaquest.api.cache;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable sorted map: a size-augmented AVL tree updated by path copying. {@link #put} and {@link #remove} return a
+ * new map in O(log n) that shares every untouched subtree with the old one, so any number of versions can be read
+ * concurrently without locking or copying. Values may not be {@code null}. The same structure backs the mock server's
+ * employee store.
+ */
+final class PersistentSortedMap<K extends Comparable<? super K>, V> {
+
+    private static final PersistentSortedMap<?, ?> EMPTY = new PersistentSortedMap<String, Object>(null);
+
+    private final Node<K, V> root;
+
+    private PersistentSortedMap(Node<K, V> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> empty() {
+        return (PersistentSortedMap<K, V>) EMPTY;
+    }
+
+    /** Maps strictly ascending {@code keys} to {@code values}, built perfectly balanced in O(n). */
+    static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> fromSorted(List<K> keys, List<V> values) {
+        if (keys.size() != values.size()) {
+            throw new IllegalArgumentException("keys and values differ in size");
+        }
+        for (int i = 1; i < keys.size(); i++) {
+            if (keys.get(i - 1).compareTo(keys.get(i)) >= 0) {
+                throw new IllegalArgumentException("keys are not strictly ascending at " + i);
+            }
+        }
+        return new PersistentSortedMap<>(build(keys, values, 0, keys.size()));
+    }
+
+    V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) {
+                return node.value;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    PersistentSortedMap<K, V> put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        return new PersistentSortedMap<>(put(root, key, value));
+    }
+
+    PersistentSortedMap<K, V> remove(K key) {
+        return get(key) == null ? this : new PersistentSortedMap<>(remove(root, key));
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    /** Levels in the tree; AVL balance keeps it within about 1.44 log2(n). */
+    int height() {
+        return height(root);
+    }
+
+    /** The value under the smallest key, or {@code null} if empty. */
+    V firstValue() {
+        if (root == null) {
+            return null;
+        }
+        Node<K, V> node = root;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.value;
+    }
+
+    /** Number of keys less than or equal to {@code key}, which need not be present: the index of the next key up. */
+    int countAtMost(K key) {
+        int count = 0;
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                if (cmp == 0) {
+                    break;
+                }
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /** The {@code index}-th smallest key. */
+    K keyAt(int index) {
+        Objects.checkIndex(index, size());
+        return nodeAt(root, index).key;
+    }
+
+    /** Visits every mapping in key order. */
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    /** The values in key order, as an unmodifiable view of this version: O(log n) access by index, O(1) per step. */
+    List<V> values() {
+        return new Values<>(root);
+    }
+
+    private record Node<K, V>(K key, V value, Node<K, V> left, Node<K, V> right, int height, int size) {}
+
+    private static <K, V> Node<K, V> node(K key, V value, Node<K, V> left, Node<K, V> right) {
+        return new Node<>(
+                key, value, left, right, Math.max(height(left), height(right)) + 1, size(left) + size(right) + 1);
+    }
+
+    private static <K, V> void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+        for (; node != null; node = node.right) {
+            forEach(node.left, action);
+            action.accept(node.key, node.value);
+        }
+    }
+
+    private static <K, V> Node<K, V> build(List<K> keys, List<V> values, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        V value = Objects.requireNonNull(values.get(mid), "value");
+        return node(keys.get(mid), value, build(keys, values, from, mid), build(keys, values, mid + 1, to));
+    }
+
+    private static <K, V> Node<K, V> nodeAt(Node<K, V> root, int index) {
+        Node<K, V> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> put(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return node(key, value, null, null);
+        }
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            return balance(node.key, node.value, put(node.left, key, value), node.right);
+        }
+        if (cmp > 0) {
+            return balance(node.key, node.value, node.left, put(node.right, key, value));
+        }
+        return node(key, value, node.left, node.right);
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> remove(Node<K, V> node, K key) {
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            return balance(node.key, node.value, remove(node.left, key), node.right);
+        }
+        if (cmp > 0) {
+            return balance(node.key, node.value, node.left, remove(node.right, key));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, removeFirst(node.right));
+    }
+
+    private static <K, V> Node<K, V> removeFirst(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removeFirst(node.left), node.right);
+    }
+
+    /** Joins two subtrees whose heights differ by at most two, rotating once or twice to restore the AVL bound. */
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        if (height(left) > height(right) + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return node(left.key, left.value, left.left, node(key, value, left.right, right));
+            }
+            Node<K, V> pivot = left.right;
+            return node(
+                    pivot.key,
+                    pivot.value,
+                    node(left.key, left.value, left.left, pivot.left),
+                    node(key, value, pivot.right, right));
+        }
+        if (height(right) > height(left) + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return node(right.key, right.value, node(key, value, left, right.left), right.right);
+            }
+            Node<K, V> pivot = right.left;
+            return node(
+                    pivot.key,
+                    pivot.value,
+                    node(key, value, left, pivot.left),
+                    node(right.key, right.value, pivot.right, right.right));
+        }
+        return node(key, value, left, right);
+    }
+
+    private static final class Values<V> extends AbstractList<V> {
+
+        private final Node<?, V> root;
+
+        Values(Node<?, V> root) {
+            this.root = root;
+        }
+
+        @Override
+        public V get(int index) {
+            Objects.checkIndex(index, size());
+            return nodeAt(root, index).value;
+        }
+
+        @Override
+        public int size() {
+            return PersistentSortedMap.size(root);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<>() {
+
+                private final Deque<Node<?, V>> path = new ArrayDeque<>();
+
+                {
+                    descendLeft(root);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return !path.isEmpty();
+                }
+
+                @Override
+                public V next() {
+                    if (path.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node<?, V> node = path.pop();
+                    descendLeft(node.right);
+                    return node.value;
+                }
+
+                private void descendLeft(Node<?, V> node) {
+                    for (; node != null; node = node.left) {
+                        path.push(node);
+                    }
+                }
+            };
+        }
+    }
+}
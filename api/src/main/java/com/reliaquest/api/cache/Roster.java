@@ -0,0 +1,213 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * The employees of one roster version, in roster order. Persistent: adding or removing an employee returns a new
+ * roster in O(log n) that shares everything else with this one, so a write-through never copies the roster and a
+ * version already handed to readers never changes.
+ *
+ * <p>Roster order is the server's creation order, whatever order changes arrive in. A full read keys employees by
+ * position; a create reported by the change feed is keyed after them by its change version, which the server hands
+ * out in creation order. A create written through by this instance is not in the feed yet, so it is keyed after
+ * everything known until the feed reports it and it moves to its place.
+ *
+ * <p>The roster carries its own {@link SalaryIndex} and {@link NameIndex}, built on first use and then updated along
+ * with it, so whoever holds a roster reads indexes of exactly those employees.
+ */
+public final class Roster {
+
+    /** Keys of creates the feed has not reported yet, past any change version the server will reach. */
+    private static final long PROVISIONAL_KEYS = Long.MAX_VALUE / 2;
+
+    private static final Roster EMPTY =
+            new Roster(PersistentSortedMap.empty(), PersistentSortedMap.empty(), 0, 0, null, null);
+
+    /** Employees by roster key, in roster order. */
+    private final PersistentSortedMap<Long, EmployeeDTO> inOrder;
+
+    private final PersistentSortedMap<UUID, Long> keysById;
+
+    /** Added to a change version to key the employee it created: the size of the full read, past its positions. */
+    private final long changeKeys;
+
+    private final long nextProvisional;
+
+    /** Built on first use; a racing build is merely repeated, as both yield the same index. */
+    private volatile SalaryIndex salaryIndex;
+
+    private volatile NameIndex nameIndex;
+
+    private Roster(
+            PersistentSortedMap<Long, EmployeeDTO> inOrder,
+            PersistentSortedMap<UUID, Long> keysById,
+            long changeKeys,
+            long nextProvisional,
+            SalaryIndex salaryIndex,
+            NameIndex nameIndex) {
+        this.inOrder = inOrder;
+        this.keysById = keysById;
+        this.changeKeys = changeKeys;
+        this.nextProvisional = nextProvisional;
+        this.salaryIndex = salaryIndex;
+        this.nameIndex = nameIndex;
+    }
+
+    public static Roster empty() {
+        return EMPTY;
+    }
+
+    /** A roster of {@code employees} in their iteration order, built in O(n log n) rather than one add at a time. */
+    public static Roster of(Collection<EmployeeDTO> employees) {
+        List<Long> keys = new ArrayList<>(employees.size());
+        List<EmployeeDTO> values = new ArrayList<>(employees.size());
+        List<IdKey> ids = new ArrayList<>(employees.size());
+        for (EmployeeDTO employee : employees) {
+            long key = keys.size();
+            keys.add(key);
+            values.add(employee);
+            if (employee.getId() != null) {
+                ids.add(new IdKey(employee.getId(), key));
+            }
+        }
+        // The server never repeats an id; if it did, lookups by id would find the last one.
+        ids.sort(Comparator.comparing(IdKey::id).thenComparingLong(IdKey::key));
+        List<UUID> idKeys = new ArrayList<>(ids.size());
+        List<Long> idValues = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (i + 1 < ids.size() && ids.get(i + 1).id().equals(ids.get(i).id())) {
+                continue;
+            }
+            idKeys.add(ids.get(i).id());
+            idValues.add(ids.get(i).key());
+        }
+        return new Roster(
+                PersistentSortedMap.fromSorted(keys, values),
+                PersistentSortedMap.fromSorted(idKeys, idValues),
+                keys.size(),
+                0,
+                null,
+                null);
+    }
+
+    /** The employees in roster order, as an unmodifiable view of this version: O(log n) by index, O(1) per step. */
+    public List<EmployeeDTO> employees() {
+        return inOrder.values();
+    }
+
+    public int size() {
+        return inOrder.size();
+    }
+
+    public boolean contains(UUID id) {
+        return id != null && keysById.get(id) != null;
+    }
+
+    /** The employee with this id, or {@code null}. */
+    public EmployeeDTO get(UUID id) {
+        Long key = id == null ? null : keysById.get(id);
+        return key == null ? null : inOrder.get(key);
+    }
+
+    /** Employees by salary, highest first. */
+    public SalaryIndex salaryIndex() {
+        SalaryIndex index = salaryIndex;
+        if (index == null) {
+            index = SalaryIndex.of(keys(), List.copyOf(employees()));
+            salaryIndex = index;
+        }
+        return index;
+    }
+
+    /** Employees by name fragment. */
+    public NameIndex nameIndex() {
+        NameIndex index = nameIndex;
+        if (index == null) {
+            index = NameIndex.of(keys(), List.copyOf(employees()));
+            nameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * The oldest employee with this name, matched as the server matches it: ignoring case, not accents. Looked up
+     * through the name index, so it costs in proportion to the namesakes rather than the roster.
+     */
+    public EmployeeDTO oldestNamed(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        for (EmployeeDTO candidate : nameIndex().search(name)) {
+            if (key.equals(candidate.getName().toLowerCase(Locale.ROOT))) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This roster with an employee this instance created, after everyone known, until {@link #withCreated} places it.
+     * Unchanged if an employee with its id is already on it.
+     */
+    Roster with(EmployeeDTO employee) {
+        if (contains(employee.getId())) {
+            return this;
+        }
+        return put(this, PROVISIONAL_KEYS + nextProvisional, employee, nextProvisional + 1);
+    }
+
+    /**
+     * This roster with an employee the change feed reports created at {@code version}, in creation order. One written
+     * through earlier moves to its place; one already placed leaves the roster unchanged.
+     */
+    Roster withCreated(EmployeeDTO employee, long version) {
+        Long held = employee.getId() == null ? null : keysById.get(employee.getId());
+        if (held != null && held < PROVISIONAL_KEYS) {
+            return this;
+        }
+        Roster base = held == null ? this : without(employee.getId());
+        return put(base, changeKeys + version, employee, nextProvisional);
+    }
+
+    /** This roster without the employee with this id; unchanged if there is none. */
+    Roster without(UUID id) {
+        Long key = id == null ? null : keysById.get(id);
+        if (key == null) {
+            return this;
+        }
+        EmployeeDTO employee = inOrder.get(key);
+        SalaryIndex salaries = salaryIndex;
+        NameIndex names = nameIndex;
+        return new Roster(
+                inOrder.remove(key),
+                keysById.remove(id),
+                changeKeys,
+                nextProvisional,
+                salaries == null ? null : salaries.without(key, employee),
+                names == null ? null : names.without(key));
+    }
+
+    private static Roster put(Roster roster, long key, EmployeeDTO employee, long nextProvisional) {
+        SalaryIndex salaries = roster.salaryIndex;
+        NameIndex names = roster.nameIndex;
+        return new Roster(
+                roster.inOrder.put(key, employee),
+                employee.getId() == null ? roster.keysById : roster.keysById.put(employee.getId(), key),
+                roster.changeKeys,
+                nextProvisional,
+                salaries == null ? null : salaries.with(key, employee),
+                names == null ? null : names.with(key, employee));
+    }
+
+    private List<Long> keys() {
+        List<Long> keys = new ArrayList<>(size());
+        inOrder.forEach((key, employee) -> keys.add(key));
+        return keys;
+    }
+
+    private record IdKey(UUID id, long key) {}
+}
@@ -0,0 +1,527 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeServerClient;
+import com.reliaquest.api.client.RosterProjection;
+import com.reliaquest.api.client.RosterVersion;
+import com.reliaquest.api.dto.ChangeFeedDTO;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.RosterEventDTO;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.utils.SingleFlight;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Holds the current {@link RosterSnapshot} and keeps it fresh.
+ *
+ * <p>Every snapshot lives for {@code roster-cache.ttl-ms}. Once it is older than {@code ttl - refresh-ahead - jitter}
+ * the next read kicks off a single background reload and keeps being served from the old snapshot, so upstream sees
+ * one fetch per refresh window no matter how many requests come in. Only a cold or fully expired cache makes the
+ * caller wait, and concurrent cold callers share the same fetch. A failed background refresh is not retried for
+ * {@code roster-cache.refresh-retry-ms}.
+ *
+ * <p>An expired snapshot is still served for up to {@code roster-cache.max-stale-ms} past its expiry when upstream
+ * cannot deliver a new one (429, 5xx or a transport error): the reload is attempted, and if it fails the caller gets
+ * the old roster instead of the error. While a failed reload is backing off, such callers get the old roster straight
+ * away and the next reload after the back-off retries upstream. {@link #stalenessMillis()} reports how far past expiry
+ * the current snapshot is, so responses can be flagged.
+ *
+ * <p>Each snapshot's {@link Roster} carries a {@link SalaryIndex} and a {@link NameIndex}. They are built on every full
+ * fetch and updated along with the roster on write-through, never in place, so aggregates and name search never
+ * rescan or re-sort the roster and a reader always sees the indexes of the roster it was handed.
+ * Until there is a roster to index, aggregates are asked of the server's own salary endpoints instead of fetching it.
+ * Concurrent askers share one call, and the answer is kept for {@code ttl-ms} or until the next write-through, so
+ * aggregate-only traffic costs one upstream call per TTL rather than one per request.
+ *
+ * <p>With {@code roster-cache.delta-sync} on, a roster that knows its upstream version is refreshed from the server's
+ * change feed rather than read again: the creates and deletes since are fetched, netted, and applied to the roster
+ * and its indexes in one pass, so a refresh costs in proportion to churn. Creates already applied by write-through
+ * are recognised by id. When the server cannot bridge the gap (it restarted, or the version has aged out of its log)
+ * or has no change feed, the roster is read in full as before.
+ *
+ * <p>Changes pushed by the server's event stream are applied through {@link #applyEvents} the same way as they happen,
+ * and every event in step with the roster extends its freshness, so a subscribed cache neither polls nor goes stale.
+ * An event further ahead than the next version means some were missed, and starts the catch-up above.
+ *
+ * <p>All accessors are non-blocking; servlet callers block on the returned {@link Mono} themselves.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RosterCache {
+
+    private final EmployeeServerClient employeeServerClient;
+
+    @Value("${roster-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${roster-cache.ttl-ms:30000}")
+    private long ttlMillis;
+
+    @Value("${roster-cache.refresh-ahead-ms:10000}")
+    private long refreshAheadMillis;
+
+    @Value("${roster-cache.jitter-ms:2000}")
+    private long jitterMillis;
+
+    @Value("${roster-cache.refresh-retry-ms:5000}")
+    private long refreshRetryMillis;
+
+    @Value("${roster-cache.max-stale-ms:120000}")
+    private long maxStaleMillis;
+
+    @Value("${roster-cache.delta-sync:true}")
+    private boolean deltaSync;
+
+    private final AtomicReference<RosterSnapshot> snapshot = new AtomicReference<>();
+
+    private final AtomicReference<CompletableFuture<RosterSnapshot>> inFlight = new AtomicReference<>();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private final AtomicLong refreshNotBefore = new AtomicLong();
+
+    private final Object writeLock = new Object();
+
+    private final SingleFlight<String, Integer> highestSalaryFlight = new SingleFlight<>("getHighestSalary");
+
+    private final SingleFlight<Integer, List<EmployeeDTO>> topEarnersFlight = new SingleFlight<>("getTopEarners");
+
+    private final AtomicReference<ServerAnswer<Integer>> serverHighestSalary = new AtomicReference<>();
+
+    private final Map<Integer, ServerAnswer<List<EmployeeDTO>>> serverTopEarners = new ConcurrentHashMap<>();
+
+    /** Bumped by every write, so an answer asked for before it is not kept after it. */
+    private final AtomicLong serverAnswerGeneration = new AtomicLong();
+
+    /** An aggregate computed by the server, served until {@code expiresAtMillis} within its generation. */
+    private record ServerAnswer<T>(T value, long generation, long expiresAtMillis) {}
+
+    public Mono<RosterSnapshot> snapshot() {
+        if (!enabled) {
+            return employeeServerClient
+                    .getAllEmployees()
+                    .map(employees -> newSnapshot(Roster.of(employees), null, null));
+        }
+        return Mono.defer(() -> {
+            long now = System.currentTimeMillis();
+            RosterSnapshot current = snapshot.get();
+            if (current == null || current.isExpired(now)) {
+                return current != null && canServeStale(current, now) ? loadOrServeStale(current, now) : load();
+            }
+            if (current.isDueForRefresh(now) && now >= refreshNotBefore.get()) {
+                refreshInBackground();
+            }
+            return Mono.just(current);
+        });
+    }
+
+    /** Salary index matching the {@link #snapshot()} roster. */
+    public Mono<SalaryIndex> salaryIndex() {
+        return snapshot().map(current -> current.roster().salaryIndex());
+    }
+
+    /**
+     * Highest salary in the roster, {@code 0} if it is empty. Without a cached roster the server is asked for it
+     * directly; if it cannot answer, the roster is streamed with only salaries decoded (cache disabled) or loaded.
+     */
+    public Mono<Integer> highestSalary() {
+        return Mono.defer(() -> {
+            Mono<Integer> local = enabled
+                    ? salaryIndex().map(SalaryIndex::highestSalary)
+                    : employeeServerClient
+                            .streamAllEmployees(RosterProjection.SALARY)
+                            .mapNotNull(EmployeeDTO::getSalary)
+                            .reduce(Integer::max)
+                            .defaultIfEmpty(0);
+            return hasRoster() ? local : serverHighestSalary().switchIfEmpty(local);
+        });
+    }
+
+    /**
+     * Names of the {@code n} best paid employees, highest first. Without a cached roster the server ranks them; if it
+     * cannot, the roster is loaded, or with the cache disabled streamed holding no more than {@code n} employees.
+     */
+    public Flux<String> topEarnerNames(int n) {
+        return Mono.defer(() -> {
+                    Mono<List<EmployeeDTO>> local = enabled
+                            ? salaryIndex().map(index -> index.topEarners(n))
+                            : SalaryIndex.topEarners(
+                                    employeeServerClient.streamAllEmployees(RosterProjection.NAME_AND_SALARY), n);
+                    return hasRoster() ? local : serverTopEarners(n).switchIfEmpty(local);
+                })
+                .flatMapIterable(top -> top.stream().map(EmployeeDTO::getName).toList());
+    }
+
+    /** Name index matching the {@link #snapshot()} roster. */
+    public Mono<NameIndex> nameIndex() {
+        return snapshot().map(current -> current.roster().nameIndex());
+    }
+
+    /** How long past its expiry the current snapshot is; {@code 0} when it is fresh or there is none. */
+    public long stalenessMillis() {
+        RosterSnapshot current = snapshot.get();
+        return current == null ? 0 : Math.max(0, System.currentTimeMillis() - current.expiresAtMillis());
+    }
+
+    public void applyCreated(EmployeeDTO employee) {
+        forgetServerAnswers();
+        synchronized (writeLock) {
+            RosterSnapshot current = snapshot.get();
+            if (current != null && !current.roster().contains(employee.getId())) {
+                snapshot.set(current.withRoster(versions.incrementAndGet(), current.roster().with(employee)));
+            }
+        }
+    }
+
+    public void applyDeleted(EmployeeDTO employee) {
+        forgetServerAnswers();
+        synchronized (writeLock) {
+            RosterSnapshot current = snapshot.get();
+            if (current != null) {
+                remove(current, employee);
+            }
+        }
+    }
+
+    /**
+     * Write-through of a delete by name. The server removes the oldest employee with that name, ignoring case, which
+     * need not be the one the caller looked up; the same one is removed here and returned, so other caches can drop
+     * it too. Empty when no roster is cached or it holds nobody by that name.
+     */
+    public Optional<EmployeeDTO> applyDeletedByName(String name) {
+        forgetServerAnswers();
+        synchronized (writeLock) {
+            RosterSnapshot current = snapshot.get();
+            if (current == null) {
+                return Optional.empty();
+            }
+            Optional<EmployeeDTO> oldest = Optional.ofNullable(current.roster().oldestNamed(name));
+            oldest.ifPresent(employee -> remove(current, employee));
+            return oldest;
+        }
+    }
+
+    /** Called under the write lock. */
+    private void remove(RosterSnapshot current, EmployeeDTO employee) {
+        if (current.roster().contains(employee.getId())) {
+            snapshot.set(current.withRoster(versions.incrementAndGet(), current.roster().without(employee.getId())));
+        }
+    }
+
+    public void invalidate() {
+        snapshot.set(null);
+        forgetServerAnswers();
+    }
+
+    /**
+     * Applies pushed roster events in order, as far as they continue the roster's upstream version without a gap. A
+     * change at or below that version has already been applied and is skipped. A jump ahead, or an event from another
+     * server run, leaves the rest to a background catch-up from the change feed. Ignored until a roster is cached.
+     */
+    public void applyEvents(List<RosterEventDTO> events) {
+        boolean behind = false;
+        synchronized (writeLock) {
+            RosterSnapshot current = snapshot.get();
+            if (!enabled || current == null || current.upstreamVersion() == null) {
+                if (events.stream().anyMatch(event -> event.getChange() != null)) {
+                    forgetServerAnswers();
+                }
+                return;
+            }
+            RosterVersion held = current.upstreamVersion();
+            long reached = held.version();
+            List<ChangeFeedDTO.Change> changes = new ArrayList<>();
+            for (RosterEventDTO event : events) {
+                if (!held.epoch().equals(event.getEpoch())) {
+                    behind = true;
+                    break;
+                }
+                if (event.getChange() != null && event.getVersion() == reached + 1) {
+                    changes.add(event.getChange());
+                    reached++;
+                } else if (event.getVersion() > reached) {
+                    behind = true;
+                    break;
+                }
+            }
+            if (!changes.isEmpty()) {
+                ChangeFeedDTO pushed = new ChangeFeedDTO();
+                pushed.setEpoch(held.epoch());
+                pushed.setVersion(reached);
+                pushed.setChanges(changes);
+                applyChanges(current, List.of(pushed));
+            } else if (!behind) {
+                revalidate(current);
+            }
+        }
+        if (behind && System.currentTimeMillis() >= refreshNotBefore.get()) {
+            log.debug("Roster events skipped ahead of upstream version {}, catching up", versionOf(snapshot.get()));
+            refreshInBackground();
+        }
+    }
+
+    /**
+     * Starts a fetch unless one is already running and returns a view of whichever fetch is in flight. A roster already
+     * held is caught up from the change feed if it can be, else revalidated with its ETag; if the server answers 304
+     * it is kept, indexes and all, for another TTL.
+     */
+    private Mono<RosterSnapshot> load() {
+        CompletableFuture<RosterSnapshot> candidate = new CompletableFuture<>();
+        CompletableFuture<RosterSnapshot> existing = inFlight.compareAndExchange(null, candidate);
+        if (existing != null) {
+            return Mono.fromFuture(existing, true);
+        }
+        RosterSnapshot held = snapshot.get();
+        Mono<RosterSnapshot> refresh =
+                deltaSync && held != null && held.upstreamVersion() != null ? syncChanges(held) : fetchRoster(held);
+        // Let go of the fetch before completing it, so no later caller is handed a result older than its own writes.
+        refresh.subscribe(
+                fresh -> {
+                    inFlight.compareAndSet(candidate, null);
+                    candidate.complete(fresh);
+                },
+                error -> {
+                    inFlight.compareAndSet(candidate, null);
+                    candidate.completeExceptionally(error);
+                });
+        // Callers cancelling must not cancel the shared fetch.
+        return Mono.fromFuture(candidate, true);
+    }
+
+    private Mono<RosterSnapshot> fetchRoster(RosterSnapshot held) {
+        return employeeServerClient
+                .getAllEmployees(held == null ? null : held.etag())
+                // Index rebuilds are CPU bound; keep them off the client's event loop.
+                .publishOn(Schedulers.boundedElastic())
+                .map(fetched -> publish(fetched.value(), fetched.etag(), fetched.rosterVersion()))
+                .switchIfEmpty(Mono.fromSupplier(() -> revalidate(held)));
+    }
+
+    /** Reads the change feed from the held roster's upstream version to its end and applies it. */
+    private Mono<RosterSnapshot> syncChanges(RosterSnapshot held) {
+        return employeeServerClient
+                .getChanges(held.upstreamVersion())
+                .expand(feed -> feed.isMore() && !feed.isResync()
+                        ? employeeServerClient.getChanges(new RosterVersion(feed.getEpoch(), feed.getVersion()))
+                        : Mono.empty())
+                .collectList()
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(feeds -> {
+                    if (feeds.isEmpty() || feeds.stream().anyMatch(ChangeFeedDTO::isResync)) {
+                        log.debug("Change feed cannot bridge from {}, reading the roster", held.upstreamVersion());
+                        return fetchRoster(held);
+                    }
+                    return Mono.fromSupplier(() -> applyChanges(held, feeds));
+                });
+    }
+
+    private void refreshInBackground() {
+        load().subscribe(fresh -> {}, error -> {
+            refreshNotBefore.set(System.currentTimeMillis() + refreshRetryMillis);
+            log.warn(
+                    "Background roster refresh failed, serving version {} until it expires",
+                    versionOf(snapshot.get()),
+                    error);
+        });
+    }
+
+    private Mono<RosterSnapshot> loadOrServeStale(RosterSnapshot stale, long now) {
+        if (now < refreshNotBefore.get()) {
+            return Mono.just(stale);
+        }
+        return load().onErrorResume(RosterCache::isUpstreamUnavailable, error -> {
+            refreshNotBefore.set(System.currentTimeMillis() + refreshRetryMillis);
+            log.warn("Roster reload failed, serving stale version {}: {}", stale.version(), error.getMessage());
+            return Mono.just(stale);
+        });
+    }
+
+    /** The server's highest salary, from the answer kept for this TTL if there is one, else one shared call. */
+    private Mono<Integer> serverHighestSalary() {
+        return Mono.defer(() -> {
+            ServerAnswer<Integer> kept = serverHighestSalary.get();
+            if (isCurrent(kept)) {
+                return Mono.just(kept.value());
+            }
+            long generation = serverAnswerGeneration.get();
+            return highestSalaryFlight.execute("max", () -> employeeServerClient
+                    .getHighestSalary()
+                    .doOnNext(value -> serverHighestSalary.set(serverAnswer(value, generation))));
+        });
+    }
+
+    /** The server's {@code n} top earners, kept and shared like {@link #serverHighestSalary()}. */
+    private Mono<List<EmployeeDTO>> serverTopEarners(int n) {
+        return Mono.defer(() -> {
+            ServerAnswer<List<EmployeeDTO>> kept = serverTopEarners.get(n);
+            if (isCurrent(kept)) {
+                return Mono.just(kept.value());
+            }
+            long generation = serverAnswerGeneration.get();
+            return topEarnersFlight.execute(n, () -> employeeServerClient
+                    .getTopEarners(n)
+                    .doOnNext(top -> serverTopEarners.put(n, serverAnswer(top, generation))));
+        });
+    }
+
+    private <T> ServerAnswer<T> serverAnswer(T value, long generation) {
+        // With the cache disabled answers are shared between concurrent callers only, never kept.
+        long expiresAt = enabled ? System.currentTimeMillis() + ttlMillis : 0;
+        return new ServerAnswer<>(value, generation, expiresAt);
+    }
+
+    private boolean isCurrent(ServerAnswer<?> answer) {
+        return answer != null
+                && answer.generation() == serverAnswerGeneration.get()
+                && System.currentTimeMillis() < answer.expiresAtMillis();
+    }
+
+    private void forgetServerAnswers() {
+        serverAnswerGeneration.incrementAndGet();
+        serverHighestSalary.set(null);
+        serverTopEarners.clear();
+    }
+
+    /** Whether aggregates can come from the local indexes; otherwise they would cost a full roster fetch. */
+    private boolean hasRoster() {
+        return enabled && snapshot.get() != null;
+    }
+
+    private boolean canServeStale(RosterSnapshot current, long now) {
+        return maxStaleMillis > 0 && now < current.expiresAtMillis() + maxStaleMillis;
+    }
+
+    /** Failures that a retry later may not see; anything else, such as a 400, is passed on to the caller. */
+    private static boolean isUpstreamUnavailable(Throwable error) {
+        if (error instanceof ApiException apiException) {
+            HttpStatus status = apiException.getStatus();
+            return status == HttpStatus.TOO_MANY_REQUESTS || status.is5xxServerError();
+        }
+        return true;
+    }
+
+    private RosterSnapshot publish(List<EmployeeDTO> employees, String etag, RosterVersion upstreamVersion) {
+        Roster roster = Roster.of(employees);
+        // Index now, off the event loop and outside the lock, rather than on the first read.
+        roster.salaryIndex();
+        roster.nameIndex();
+        synchronized (writeLock) {
+            RosterSnapshot fresh = newSnapshot(roster, etag, upstreamVersion);
+            snapshot.set(fresh);
+            log.debug("Published roster version {} with {} employees", fresh.version(), employees.size());
+            return fresh;
+        }
+    }
+
+    /** Extends the roster the server confirmed unchanged, or whatever write-through has made of it since. */
+    private RosterSnapshot revalidate(RosterSnapshot validated) {
+        synchronized (writeLock) {
+            RosterSnapshot current = Objects.requireNonNullElse(snapshot.get(), validated);
+            long now = System.currentTimeMillis();
+            RosterSnapshot extended = current.revalidated(now, refreshAt(now), now + ttlMillis);
+            snapshot.set(extended);
+            log.debug("Roster version {} revalidated upstream", extended.version());
+            return extended;
+        }
+    }
+
+    /**
+     * Applies the net effect of the feeds to the roster one employee at a time, in O(log n) each with its indexes.
+     * Changes the roster already reflects, because pushed events got there first, are skipped. The result has no
+     * ETag, as the server never served it.
+     */
+    private RosterSnapshot applyChanges(RosterSnapshot held, List<ChangeFeedDTO> feeds) {
+        ChangeFeedDTO last = feeds.get(feeds.size() - 1);
+        RosterVersion reached = new RosterVersion(last.getEpoch(), last.getVersion());
+        synchronized (writeLock) {
+            RosterSnapshot current = Objects.requireNonNullElse(snapshot.get(), held);
+            RosterVersion applied = current.upstreamVersion();
+            long since =
+                    applied != null && applied.epoch().equals(reached.epoch()) ? applied.version() : Long.MIN_VALUE;
+            if (since >= reached.version()) {
+                return revalidate(current);
+            }
+            Map<UUID, ChangeFeedDTO.Change> created = new LinkedHashMap<>();
+            Set<UUID> deleted = new HashSet<>();
+            for (ChangeFeedDTO feed : feeds) {
+                for (ChangeFeedDTO.Change change : feed.getChanges()) {
+                    EmployeeDTO employee = change.getEmployee();
+                    if (change.getVersion() <= since) {
+                        continue;
+                    }
+                    if (change.getType() == ChangeFeedDTO.Type.CREATED) {
+                        created.put(employee.getId(), change);
+                    } else {
+                        // Deleted even if created in this batch: write-through may have added it already.
+                        created.remove(employee.getId());
+                        deleted.add(employee.getId());
+                    }
+                }
+            }
+            Roster roster = current.roster();
+            int removed = 0;
+            int added = 0;
+            for (UUID id : deleted) {
+                if (roster.contains(id)) {
+                    roster = roster.without(id);
+                    removed++;
+                }
+            }
+            for (ChangeFeedDTO.Change change : created.values()) {
+                // Already here if this instance created it and wrote it through; it moves into creation order.
+                if (!roster.contains(change.getEmployee().getId())) {
+                    added++;
+                }
+                roster = roster.withCreated(change.getEmployee(), change.getVersion());
+            }
+            long now = System.currentTimeMillis();
+            long version = roster == current.roster() ? current.version() : versions.incrementAndGet();
+            RosterSnapshot synced =
+                    new RosterSnapshot(version, roster, now, refreshAt(now), now + ttlMillis, null, reached);
+            snapshot.set(synced);
+            log.debug(
+                    "Roster version {} synced to upstream version {}: {} created, {} deleted",
+                    synced.version(),
+                    reached.version(),
+                    added,
+                    removed);
+            return synced;
+        }
+    }
+
+    private RosterSnapshot newSnapshot(Roster roster, String etag, RosterVersion upstreamVersion) {
+        long now = System.currentTimeMillis();
+        return new RosterSnapshot(
+                versions.incrementAndGet(), roster, now, refreshAt(now), now + ttlMillis, etag, upstreamVersion);
+    }
+
+    private long refreshAt(long now) {
+        long jitter = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0;
+        return now + Math.max(0, ttlMillis - refreshAheadMillis - jitter);
+    }
+
+    private static long versionOf(RosterSnapshot snapshot) {
+        return snapshot == null ? 0 : snapshot.version();
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeServerClient;
+import com.reliaquest.api.dto.ChangeFeedDTO;
+import com.reliaquest.api.dto.RosterEventDTO;
+import com.reliaquest.api.exception.ApiException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * Keeps the caches current from the server's roster event stream. Events are applied to {@link RosterCache} in
+ * batches of up to {@code roster-events.batch-size}, gathered for at most {@code batch-window-ms}, so a burst of writes
+ * costs one roster update rather than one per write. Deletes evict, and creates fill, the {@link EmployeeByIdCache}.
+ *
+ * <p>The subscription is renewed whenever the server closes it or it fails, after {@code resubscribe-ms} backing off
+ * to {@code max-resubscribe-ms}. Every subscription opens with the server's current version, so whatever was missed
+ * in between shows up as a gap and is caught up from the change feed. A server without the stream is detected by a
+ * 404 or 400 and left alone; the caches then refresh on their TTLs as before.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RosterEventSubscriber {
+
+    private final EmployeeServerClient employeeServerClient;
+
+    private final RosterCache rosterCache;
+
+    private final EmployeeByIdCache employeeByIdCache;
+
+    @Value("${roster-events.enabled:true}")
+    private boolean enabled;
+
+    @Value("${roster-events.resubscribe-ms:1000}")
+    private long resubscribeMillis;
+
+    @Value("${roster-events.max-resubscribe-ms:30000}")
+    private long maxResubscribeMillis;
+
+    @Value("${roster-events.batch-size:256}")
+    private int batchSize;
+
+    @Value("${roster-events.batch-window-ms:50}")
+    private long batchWindowMillis;
+
+    private volatile Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscription = events().subscribe(batch -> {}, error -> log.info(
+                "Server has no roster event stream, refreshing caches on their TTLs instead: {}",
+                error.getMessage()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /** The event batches as they are applied, resubscribing for as long as the server has the stream. */
+    Flux<List<RosterEventDTO>> events() {
+        return employeeServerClient
+                .streamRosterEvents()
+                .doOnNext(this::applyToEmployeeCache)
+                .bufferTimeout(Math.max(1, batchSize), Duration.ofMillis(batchWindowMillis))
+                // Applying a batch copies the roster; keep that off the client's event loop.
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(rosterCache::applyEvents)
+                .repeatWhen(closed -> closed.delayElements(Duration.ofMillis(resubscribeMillis)))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(resubscribeMillis))
+                        .maxBackoff(Duration.ofMillis(maxResubscribeMillis))
+                        .transientErrors(true)
+                        .filter(error -> !isUnsupported(error))
+                        .doBeforeRetry(signal -> log.debug(
+                                "Roster event stream failed, resubscribing: {}",
+                                signal.failure().getMessage())));
+    }
+
+    private void applyToEmployeeCache(RosterEventDTO event) {
+        ChangeFeedDTO.Change change = event.getChange();
+        if (change == null || change.getEmployee() == null || change.getEmployee().getId() == null) {
+            return;
+        }
+        if (change.getType() == ChangeFeedDTO.Type.DELETED) {
+            employeeByIdCache.invalidate(change.getEmployee().getId().toString());
+        } else {
+            employeeByIdCache.put(change.getEmployee());
+        }
+    }
+
+    /** An older server reads {@code /events} as a malformed employee id. */
+    private static boolean isUnsupported(Throwable error) {
+        return error instanceof ApiException apiException
+                && (apiException.getStatus() == HttpStatus.NOT_FOUND
+                        || apiException.getStatus() == HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.RosterVersion;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of the upstream roster. A new version is published on every full fetch and on every
+ * write-through from this api instance; the {@link Roster} is persistent, so a new version shares all but the changed
+ * employees with the last one. {@code etag} is the server's ETag for the fetch, used to revalidate the roster instead
+ * of downloading it again; {@code null} if the server sent none. {@code upstreamVersion} is where the roster stands in
+ * the server's change feed, to catch up from; write-through leaves it alone, as the feed will report those writes
+ * again.
+ */
+public record RosterSnapshot(
+        long version,
+        Roster roster,
+        long fetchedAtMillis,
+        long refreshAtMillis,
+        long expiresAtMillis,
+        String etag,
+        RosterVersion upstreamVersion) {
+
+    public RosterSnapshot(
+            long version,
+            List<EmployeeDTO> employees,
+            long fetchedAtMillis,
+            long refreshAtMillis,
+            long expiresAtMillis,
+            String etag,
+            RosterVersion upstreamVersion) {
+        this(version, Roster.of(employees), fetchedAtMillis, refreshAtMillis, expiresAtMillis, etag, upstreamVersion);
+    }
+
+    /** The employees in roster order, as an unmodifiable view. */
+    public List<EmployeeDTO> employees() {
+        return roster.employees();
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    public boolean isDueForRefresh(long nowMillis) {
+        return nowMillis >= refreshAtMillis;
+    }
+
+    /** The same roster, confirmed unchanged upstream: same version and employees, new freshness window. */
+    RosterSnapshot revalidated(long fetchedAtMillis, long refreshAtMillis, long expiresAtMillis) {
+        return new RosterSnapshot(
+                version, roster, fetchedAtMillis, refreshAtMillis, expiresAtMillis, etag, upstreamVersion);
+    }
+
+    /** The same freshness and upstream position with a roster changed by write-through. */
+    RosterSnapshot withRoster(long newVersion, Roster updated) {
+        return new RosterSnapshot(
+                newVersion, updated, fetchedAtMillis, refreshAtMillis, expiresAtMillis, etag, upstreamVersion);
+    }
+}
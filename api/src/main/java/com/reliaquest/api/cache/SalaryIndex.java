@@ -0,0 +1,138 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Employees ordered by salary, highest first, ties in roster order. Persistent, like the {@link Roster} that holds it:
+ * {@link #with} and {@link #without} return a new index in O(log n) sharing the rest with this one, so an index read
+ * along with its roster never changes under the reader.
+ *
+ * <p>The highest salary is {@code O(log n)} and the top {@code n} earners are {@code O(n + log size)}. Employees
+ * without a salary are not indexed.
+ */
+public final class SalaryIndex {
+
+    private static final SalaryIndex EMPTY = new SalaryIndex(PersistentSortedMap.empty());
+
+    /** Highest salary first, then by roster key, so ties keep roster order. */
+    private record Rank(int salary, long key) implements Comparable<Rank> {
+
+        @Override
+        public int compareTo(Rank other) {
+            int cmp = Integer.compare(other.salary, salary);
+            return cmp != 0 ? cmp : Long.compare(key, other.key);
+        }
+    }
+
+    private final PersistentSortedMap<Rank, EmployeeDTO> ranked;
+
+    private SalaryIndex(PersistentSortedMap<Rank, EmployeeDTO> ranked) {
+        this.ranked = ranked;
+    }
+
+    /**
+     * Ranks a stream the way {@link #topEarners(int)} ranks the index, holding no more than {@code n} employees at a
+     * time; for one-off aggregation over a roster that is never materialized.
+     */
+    public static Mono<List<EmployeeDTO>> topEarners(Flux<EmployeeDTO> employees, int n) {
+        // Worst first, so the heap head is the one to evict: lower salary, or the later arrival on a tie.
+        Comparator<Tuple2<Long, EmployeeDTO>> worstFirst =
+                Comparator.comparing((Tuple2<Long, EmployeeDTO> ranked) -> ranked.getT2().getSalary())
+                        .thenComparing(ranked -> ranked.getT1(), Comparator.reverseOrder());
+        return employees
+                .filter(employee -> employee.getSalary() != null)
+                .index()
+                .collect(() -> new PriorityQueue<Tuple2<Long, EmployeeDTO>>(worstFirst), (heap, ranked) -> {
+                    heap.add(ranked);
+                    if (heap.size() > n) {
+                        heap.poll();
+                    }
+                })
+                .map(heap -> heap.stream()
+                        .sorted(worstFirst.reversed())
+                        .map(Tuple2::getT2)
+                        .toList());
+    }
+
+    /** Indexes a full roster with one sort, keyed by position as {@link Roster#of} keys it. */
+    public static SalaryIndex of(Collection<EmployeeDTO> roster) {
+        List<Long> keys = new ArrayList<>(roster.size());
+        for (long key = 0; key < roster.size(); key++) {
+            keys.add(key);
+        }
+        return of(keys, List.copyOf(roster));
+    }
+
+    /** Indexes {@code employees} under the matching roster {@code keys}, which ascend, with one sort. */
+    static SalaryIndex of(List<Long> keys, List<EmployeeDTO> employees) {
+        List<Rank> ranks = new ArrayList<>(employees.size());
+        List<EmployeeDTO> salaried = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            EmployeeDTO employee = employees.get(i);
+            if (employee.getSalary() != null) {
+                ranks.add(new Rank(employee.getSalary(), keys.get(i)));
+                salaried.add(employee);
+            }
+        }
+        if (ranks.isEmpty()) {
+            return EMPTY;
+        }
+        // Sort primitives rather than objects: salary descending then key ascending, packed as (~salary, position).
+        long[] order = new long[ranks.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = ((long) ~ranks.get(i).salary() << 32) | i;
+        }
+        Arrays.sort(order);
+        List<Rank> sortedRanks = new ArrayList<>(order.length);
+        List<EmployeeDTO> sortedEmployees = new ArrayList<>(order.length);
+        for (long packed : order) {
+            sortedRanks.add(ranks.get((int) packed));
+            sortedEmployees.add(salaried.get((int) packed));
+        }
+        return new SalaryIndex(PersistentSortedMap.fromSorted(sortedRanks, sortedEmployees));
+    }
+
+    /** This index with the employee under roster key {@code key}; unchanged if it has no salary. */
+    SalaryIndex with(long key, EmployeeDTO employee) {
+        return employee.getSalary() == null
+                ? this
+                : new SalaryIndex(ranked.put(new Rank(employee.getSalary(), key), employee));
+    }
+
+    /** This index without the employee under roster key {@code key}; unchanged if it is not indexed. */
+    SalaryIndex without(long key, EmployeeDTO employee) {
+        if (employee.getSalary() == null) {
+            return this;
+        }
+        PersistentSortedMap<Rank, EmployeeDTO> updated = ranked.remove(new Rank(employee.getSalary(), key));
+        return updated == ranked ? this : new SalaryIndex(updated);
+    }
+
+    /** Highest indexed salary, or {@code 0} when the index is empty. */
+    public int highestSalary() {
+        EmployeeDTO top = ranked.firstValue();
+        return top == null ? 0 : top.getSalary();
+    }
+
+    public List<EmployeeDTO> topEarners(int n) {
+        int count = Math.min(Math.max(n, 0), ranked.size());
+        return new ArrayList<>(ranked.values().subList(0, count));
+    }
+
+    public List<String> topEarnerNames(int n) {
+        return topEarners(n).stream().map(EmployeeDTO::getName).toList();
+    }
+
+    public int size() {
+        return ranked.size();
+    }
+}
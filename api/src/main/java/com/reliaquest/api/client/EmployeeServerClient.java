@@ -0,0 +1,456 @@
+package com.reliaquest.api.client;
+
+import static com.reliaquest.api.utils.Constants.EMPLOYEE;
+import static com.reliaquest.api.utils.Constants.EMPLOYEE_BY_ID;
+import static com.reliaquest.api.utils.Constants.EMPLOYEE_CHANGES;
+import static com.reliaquest.api.utils.Constants.EMPLOYEE_EVENTS;
+import static com.reliaquest.api.utils.Constants.EMPLOYEE_SALARY_MAX;
+import static com.reliaquest.api.utils.Constants.EMPLOYEE_SALARY_TOP;
+import static com.reliaquest.api.utils.Constants.PAGE_CURSORS_HEADER;
+import static com.reliaquest.api.utils.Constants.ROSTER_EPOCH_HEADER;
+import static com.reliaquest.api.utils.Constants.ROSTER_VERSION_HEADER;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.ChangeFeedDTO;
+import com.reliaquest.api.dto.EmployeeCreateRequest;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.RosterEventDTO;
+import com.reliaquest.api.dto.api.response.ChangeFeedResponse;
+import com.reliaquest.api.dto.api.response.EmployeeListResponse;
+import com.reliaquest.api.dto.api.response.EmployeeResponse;
+import com.reliaquest.api.dto.api.response.GenericResponse;
+import com.reliaquest.api.dto.api.response.SalaryResponse;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.utils.ReactiveRetry;
+import com.reliaquest.api.utils.SingleFlight;
+import com.reliaquest.api.utils.Utils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Thin wrapper around the mock employee server. Every subscription to one of these {@link Mono}s costs one upstream
+ * round trip (plus retries), so callers that only need to read the roster should go through {@code RosterCache}
+ * instead. Nothing here blocks.
+ *
+ * <p>With {@code roster-paging.page-size} set, the roster is read in cursor pages fetched partly in parallel instead of
+ * one response. Every page is a request against the server's quota, so pages should stay large.
+ *
+ * <p>The highest salary and the top earners are asked of the server's salary endpoints, which answer from its own
+ * salary index with a handful of records. A server without them is detected by its first 404, after which those
+ * methods complete empty and callers aggregate the roster themselves.
+ *
+ * <p>The roster and by-id reads can be conditional: given the ETag of a held copy they send {@code If-None-Match} and
+ * complete empty on 304 Not Modified, leaving the caller to keep its copy.
+ *
+ * <p>Full roster reads report the {@link RosterVersion} they reflect, from which {@link #getChanges} reads the
+ * server's change feed: the creates and deletes since, in a response sized by churn rather than by the roster.
+ * {@link #streamRosterEvents} subscribes to the same changes as they happen.
+ *
+ * <p>Reads are coalesced with {@link SingleFlight}: concurrent identical GETs share one upstream request, including its
+ * retries, instead of each spending the server's request quota.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EmployeeServerClient {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<RosterEventDTO>> ROSTER_EVENTS =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+
+    @Value("${server.api.url:http://localhost:8112/api/v1}")
+    private String serverBaseUrl;
+
+    /** Employees per upstream page when reading the roster; {@code 0} reads it in a single request. */
+    @Value("${roster-paging.page-size:0}")
+    private int rosterPageSize;
+
+    /** Roster pages in flight at once, including the one being decoded. */
+    @Value("${roster-paging.concurrency:2}")
+    private int rosterPageConcurrency;
+
+    /** Use the server's salary endpoints when it has them. */
+    @Value("${server-aggregates.enabled:true}")
+    private boolean serverAggregates;
+
+    private final Utils utils;
+
+    private final ReactiveRetry reactiveRetry;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Getter
+    private final SingleFlight<String, Versioned<List<EmployeeDTO>>> rosterFlight =
+            new SingleFlight<>("getAllEmployees");
+
+    @Getter
+    private final SingleFlight<String, Versioned<EmployeeDTO>> employeeByIdFlight =
+            new SingleFlight<>("getEmployeeById");
+
+    /** Changes asked for per change feed request. */
+    @Value("${roster-cache.delta-page-size:1000}")
+    private int changesPageSize;
+
+    /** Whether the server has the salary endpoints; {@code null} until a call finds out. */
+    private final AtomicReference<Boolean> salaryEndpoints = new AtomicReference<>();
+
+    /** Whether the server has the change feed; {@code null} until a call finds out. */
+    private final AtomicReference<Boolean> changeFeed = new AtomicReference<>();
+
+    public Mono<List<EmployeeDTO>> getAllEmployees() {
+        return getAllEmployees(null).map(Versioned::value);
+    }
+
+    /**
+     * The roster with its ETag and version. Given the ETag of a copy already held, completes empty when the server
+     * answers 304 Not Modified, which costs a header round trip instead of the download and decode. Paged reads are
+     * never conditional, and report the version of their first page: later pages may already include changes made
+     * since, which replaying the change feed from that version finds already applied.
+     */
+    public Mono<Versioned<List<EmployeeDTO>>> getAllEmployees(String ifNoneMatch) {
+        String url = serverBaseUrl + EMPLOYEE;
+        String uri = UriComponentsBuilder.fromUriString(url).build().toString();
+        if (rosterPageSize > 0) {
+            return rosterFlight.execute(uri, () -> fetchRosterPage(null, null, RosterProjection.FULL)
+                    .flatMap(first -> rosterPagesFrom(first, RosterProjection.FULL)
+                            .collectList()
+                            .map(employees -> new Versioned<>(employees, null, rosterVersion(first.getHeaders())))));
+        }
+        return rosterFlight.execute(flightKey(uri, ifNoneMatch), () -> {
+            WebClient.ResponseSpec resSpec = conditionalGet(uri, ifNoneMatch);
+            return reactiveRetry.withRetry(
+                    "getAllEmployees",
+                    resSpec.toEntityFlux(DataBuffer.class).flatMap(entity -> isNotModified(entity)
+                            ? Mono.empty()
+                            : RosterJsonStream.decode(entity.getBody(), mapper, RosterProjection.FULL)
+                                    .collectList()
+                                    .map(employees -> new Versioned<>(
+                                            employees,
+                                            entity.getHeaders().getETag(),
+                                            rosterVersion(entity.getHeaders())))));
+        });
+    }
+
+    /**
+     * Streams the roster as it is decoded, asking the server for and materializing only the fields in
+     * {@code projection}. Not coalesced: every subscription is a separate upstream request.
+     */
+    public Flux<EmployeeDTO> streamAllEmployees(RosterProjection projection) {
+        if (rosterPageSize > 0) {
+            return rosterPages(null, projection);
+        }
+        String url = serverBaseUrl + EMPLOYEE;
+        String uri = UriComponentsBuilder.fromUriString(url)
+                .queryParamIfPresent("fields", projection.serverFields())
+                .build()
+                .toString();
+        return Flux.defer(() -> {
+            WebClient.ResponseSpec resSpec =
+                    webClient.method(HttpMethod.GET).uri(uri).retrieve();
+            resSpec = utils.addExceptionHandling(resSpec);
+            return reactiveRetry.withRetry(
+                    "getAllEmployees",
+                    RosterJsonStream.decode(resSpec.bodyToFlux(DataBuffer.class), mapper, projection));
+        });
+    }
+
+    /**
+     * The roster after {@code cursor}, read page by page. The first page lists the cursors of the pages that follow;
+     * those are fetched as bounded ranges, {@code roster-paging.concurrency} at a time, each decoded as it arrives and
+     * emitted in roster order. The pages after the last listed cursor are read the same way, recursively.
+     */
+    private Flux<EmployeeDTO> rosterPages(String cursor, RosterProjection projection) {
+        return fetchRosterPage(cursor, null, projection).flatMapMany(first -> rosterPagesFrom(first, projection));
+    }
+
+    /** The roster from an open-ended page already fetched to its end. */
+    private Flux<EmployeeDTO> rosterPagesFrom(ResponseEntity<Flux<DataBuffer>> first, RosterProjection projection) {
+        List<String> cursors = pageCursors(first.getHeaders());
+        List<Flux<EmployeeDTO>> pages = new ArrayList<>();
+        pages.add(decodePage(first, projection));
+        for (int i = 0; i + 1 < cursors.size(); i++) {
+            pages.add(fetchRosterPage(cursors.get(i), cursors.get(i + 1), projection)
+                    .flatMapMany(page -> decodePage(page, projection)));
+        }
+        if (!cursors.isEmpty()) {
+            String last = cursors.get(cursors.size() - 1);
+            pages.add(Flux.defer(() -> rosterPages(last, projection)));
+        }
+        return Flux.mergeSequential(pages, Math.max(1, rosterPageConcurrency), Queues.XS_BUFFER_SIZE);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> fetchRosterPage(
+            String cursor, String until, RosterProjection projection) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(serverBaseUrl + EMPLOYEE)
+                .queryParam("limit", rosterPageSize)
+                .queryParamIfPresent("fields", projection.serverFields());
+        if (cursor != null) {
+            builder.queryParam("cursor", cursor);
+        }
+        if (until != null) {
+            builder.queryParam("until", until);
+        }
+        String uri = builder.build().toString();
+        return Mono.defer(() -> {
+            WebClient.ResponseSpec resSpec =
+                    webClient.method(HttpMethod.GET).uri(uri).retrieve();
+            resSpec = utils.addExceptionHandling(resSpec);
+            return reactiveRetry.withRetry("getRosterPage", resSpec.toEntityFlux(DataBuffer.class));
+        });
+    }
+
+    private Flux<EmployeeDTO> decodePage(ResponseEntity<Flux<DataBuffer>> page, RosterProjection projection) {
+        return RosterJsonStream.decode(page.getBody(), mapper, projection);
+    }
+
+    private static List<String> pageCursors(HttpHeaders headers) {
+        String value = headers.getFirst(PAGE_CURSORS_HEADER);
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(c -> !c.isEmpty()).toList();
+    }
+
+    /** The version a roster response reflects; {@code null} from a server that does not report both parts. */
+    private static RosterVersion rosterVersion(HttpHeaders headers) {
+        String epoch = headers.getFirst(ROSTER_EPOCH_HEADER);
+        String version = headers.getFirst(ROSTER_VERSION_HEADER);
+        if (epoch == null || version == null) {
+            return null;
+        }
+        try {
+            return new RosterVersion(epoch, Long.parseLong(version.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring unparseable roster version: {}", version);
+            return null;
+        }
+    }
+
+    /**
+     * Streams the roster straight through in the api's own wire format, renaming fields and unwrapping the envelope as
+     * upstream bytes arrive. Neither cached nor coalesced: every subscription is a separate upstream request.
+     */
+    public Flux<DataBuffer> transcodeAllEmployees(RosterFormat format) {
+        String url = serverBaseUrl + EMPLOYEE;
+        String uri = UriComponentsBuilder.fromUriString(url).build().toString();
+        return Flux.defer(() -> {
+            WebClient.ResponseSpec resSpec =
+                    webClient.method(HttpMethod.GET).uri(uri).retrieve();
+            resSpec = utils.addExceptionHandling(resSpec);
+            return reactiveRetry.withRetry(
+                    "getAllEmployees",
+                    RosterJsonStream.transcode(
+                            resSpec.bodyToFlux(DataBuffer.class),
+                            mapper,
+                            DefaultDataBufferFactory.sharedInstance,
+                            format));
+        });
+    }
+
+    /** The highest salary as computed by the server, {@code 0} for an empty roster; empty without salary endpoints. */
+    public Mono<Integer> getHighestSalary() {
+        String url = serverBaseUrl + EMPLOYEE_SALARY_MAX;
+        String uri = UriComponentsBuilder.fromUriString(url).build().toString();
+        return salaryQuery("getHighestSalary", uri, SalaryResponse.class)
+                .map(body -> Objects.requireNonNullElse(body.getData(), 0));
+    }
+
+    /** The {@code n} best paid employees as ranked by the server, highest first; empty without salary endpoints. */
+    public Mono<List<EmployeeDTO>> getTopEarners(int n) {
+        String url = serverBaseUrl + EMPLOYEE_SALARY_TOP;
+        String uri = UriComponentsBuilder.fromUriString(url)
+                .queryParam("limit", n)
+                .queryParamIfPresent("fields", RosterProjection.NAME_AND_SALARY.serverFields())
+                .build()
+                .toString();
+        return salaryQuery("getTopEarners", uri, EmployeeListResponse.class)
+                .map(body -> Objects.requireNonNullElse(body.getData(), List.of()));
+    }
+
+    private <R> Mono<R> salaryQuery(String operation, String uri, Class<R> responseType) {
+        if (!serverAggregates || Boolean.FALSE.equals(salaryEndpoints.get())) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+                    WebClient.ResponseSpec resSpec =
+                            webClient.method(HttpMethod.GET).uri(uri).retrieve();
+                    resSpec = utils.addExceptionHandling(resSpec);
+                    return reactiveRetry.withRetry(operation, resSpec.toEntity(responseType));
+                })
+                .mapNotNull(ResponseEntity::getBody)
+                .doOnNext(body -> salaryEndpoints.set(true))
+                .onErrorResume(
+                        error -> salaryEndpoints.get() == null
+                                && error instanceof ApiException apiException
+                                && apiException.getStatus() == HttpStatus.NOT_FOUND,
+                        error -> {
+                            log.info("Server has no salary endpoints, aggregating the roster locally instead");
+                            salaryEndpoints.set(false);
+                            return Mono.empty();
+                        });
+    }
+
+    /**
+     * One page of the creates and deletes after {@code since}. Completes empty if the server has no change feed, which
+     * is detected by its first 404 or 400 (an older server reads {@code /changes} as a malformed id), so callers fall
+     * back to reading the roster.
+     */
+    public Mono<ChangeFeedDTO> getChanges(RosterVersion since) {
+        if (Boolean.FALSE.equals(changeFeed.get())) {
+            return Mono.empty();
+        }
+        String url = serverBaseUrl + EMPLOYEE_CHANGES;
+        String uri = UriComponentsBuilder.fromUriString(url)
+                .queryParam("since", since.version())
+                .queryParam("epoch", since.epoch())
+                .queryParam("limit", changesPageSize)
+                .build()
+                .toString();
+        return Mono.defer(() -> {
+                    WebClient.ResponseSpec resSpec =
+                            webClient.method(HttpMethod.GET).uri(uri).retrieve();
+                    resSpec = utils.addExceptionHandling(resSpec);
+                    return reactiveRetry.withRetry("getChanges", resSpec.toEntity(ChangeFeedResponse.class));
+                })
+                .mapNotNull(respRes -> respRes.getBody().getData())
+                .doOnNext(feed -> changeFeed.set(true))
+                .onErrorResume(
+                        error -> changeFeed.get() == null
+                                && error instanceof ApiException apiException
+                                && (apiException.getStatus() == HttpStatus.NOT_FOUND
+                                        || apiException.getStatus() == HttpStatus.BAD_REQUEST),
+                        error -> {
+                            log.info("Server has no change feed, refreshing the roster in full instead");
+                            changeFeed.set(false);
+                            return Mono.empty();
+                        });
+    }
+
+    /**
+     * The server's roster events, read from one long-lived Server-Sent Events subscription that opens with the
+     * server's current version. Completes when the server closes it. Neither retried nor coalesced: resubscribing,
+     * and noticing what was missed meanwhile, is up to the caller.
+     */
+    public Flux<RosterEventDTO> streamRosterEvents() {
+        String url = serverBaseUrl + EMPLOYEE_EVENTS;
+        String uri = UriComponentsBuilder.fromUriString(url).build().toString();
+        return Flux.defer(() -> {
+            WebClient.ResponseSpec resSpec = webClient
+                    .method(HttpMethod.GET)
+                    .uri(uri)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    // The server leaves the event stream out of its quota, so the pacer does too.
+                    .attribute(UpstreamRatePacer.UNPACED, true)
+                    .retrieve();
+            resSpec = utils.addExceptionHandling(resSpec);
+            return resSpec.bodyToFlux(ROSTER_EVENTS).mapNotNull(ServerSentEvent::data);
+        });
+    }
+
+    public Mono<EmployeeDTO> getEmployeeById(String id) {
+        return getEmployeeById(id, null).map(Versioned::value);
+    }
+
+    /** The employee with its ETag; completes empty on 304 Not Modified when {@code ifNoneMatch} still matches. */
+    public Mono<Versioned<EmployeeDTO>> getEmployeeById(String id, String ifNoneMatch) {
+        String url = serverBaseUrl + EMPLOYEE_BY_ID.replace(":id", id);
+        String uri = UriComponentsBuilder.fromUriString(url).build().toString();
+        return employeeByIdFlight.execute(flightKey(uri, ifNoneMatch), () -> {
+            WebClient.ResponseSpec resSpec = conditionalGet(uri, ifNoneMatch);
+            return reactiveRetry.withRetry(
+                    "getEmployeeById",
+                    resSpec.toEntity(EmployeeResponse.class)
+                            .filter(respRes -> !isNotModified(respRes))
+                            .map(respRes -> new Versioned<>(
+                                    respRes.getBody().getData(), respRes.getHeaders().getETag()))
+                            .switchIfEmpty(
+                                    ifNoneMatch != null
+                                            ? Mono.empty()
+                                            : Mono.error(new ApiException(
+                                                    "Employee not found for id " + id, HttpStatus.NOT_FOUND))));
+        });
+    }
+
+    /** A GET carrying {@code If-None-Match} when there is an ETag to revalidate. */
+    private WebClient.ResponseSpec conditionalGet(String uri, String ifNoneMatch) {
+        WebClient.RequestHeadersSpec<?> request = webClient.method(HttpMethod.GET).uri(uri);
+        if (ifNoneMatch != null) {
+            request = request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return utils.addExceptionHandling(request.retrieve());
+    }
+
+    /** Conditional and unconditional reads of the same resource must not share a result. */
+    private static String flightKey(String uri, String ifNoneMatch) {
+        return ifNoneMatch == null ? uri : uri + " " + ifNoneMatch;
+    }
+
+    private static boolean isNotModified(ResponseEntity<?> entity) {
+        return entity.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value();
+    }
+
+    public Mono<EmployeeDTO> createEmployee(EmployeeCreateRequest employeeInput) {
+        String body;
+        try {
+            body = mapper.writeValueAsString(employeeInput);
+        } catch (JsonProcessingException e) {
+            return Mono.error(
+                    new ApiException("Error occurred while creating employee", HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+        String url = serverBaseUrl + EMPLOYEE;
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url);
+        WebClient.ResponseSpec resSpec = webClient
+                .post()
+                .uri(builder.build().toString())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .bodyValue(body)
+                .retrieve();
+        resSpec = utils.addExceptionHandling(resSpec);
+        return reactiveRetry.withRetry(
+                "createEmployee",
+                resSpec.toEntity(EmployeeResponse.class)
+                        .map(respRes -> respRes.getBody().getData())
+                        .switchIfEmpty(Mono.error(new ApiException(
+                                "No response from server for employee creation",
+                                HttpStatus.INTERNAL_SERVER_ERROR))));
+    }
+
+    public Mono<String> deleteEmployeeByName(String name) {
+        String url = serverBaseUrl + EMPLOYEE;
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url);
+        WebClient.ResponseSpec resSpec = webClient
+                .method(HttpMethod.DELETE)
+                .uri(builder.build().toString())
+                .bodyValue(Map.of("name", name))
+                .retrieve();
+        resSpec = utils.addExceptionHandling(resSpec);
+        return reactiveRetry.withRetry(
+                "deleteEmployeeById",
+                resSpec.toEntity(GenericResponse.class).map(respRes -> respRes.getBody().getData()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.client;
+
+import java.util.List;
+import org.springframework.http.MediaType;
+
+/** Wire formats {@link EmployeeServerClient#transcodeAllEmployees} can stream the roster in. */
+public enum RosterFormat {
+    /** The regular {@code GET /v1/employee} body: one JSON array. */
+    JSON_ARRAY(MediaType.APPLICATION_JSON),
+    /** One employee object per line. */
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    RosterFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /** NDJSON when the client accepts it explicitly, the JSON array otherwise. */
+    public static RosterFormat negotiate(List<MediaType> accepted) {
+        return accepted.stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype) ? NDJSON : JSON_ARRAY;
+    }
+}
@@ -0,0 +1,391 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.ApiException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+
+/**
+ * Walks the {@code data} array of an upstream list response as the bytes arrive, using Jackson's non-blocking parser.
+ * Memory is bounded by one network buffer plus the employee in progress, instead of the whole body and its object
+ * graph. Everything outside {@code data} is skipped at the token level.
+ *
+ * <p>{@link #decode} turns each element into an {@link EmployeeDTO}, materializing only the fields in the requested
+ * {@link RosterProjection}. {@link #transcode} rewrites the elements straight into the api's own wire format, renaming
+ * the server's {@code employee_*} keys, and emits whatever output each input buffer produced, so nothing waits for the
+ * end of the roster or even of an employee. Like the buffered list, it leaves out null values and fields
+ * {@link EmployeeDTO} does not have.
+ */
+final class RosterJsonStream<T> {
+
+    private static final String DATA_FIELD = "data";
+
+    private static final String UPSTREAM_FIELD_PREFIX = "employee_";
+
+    /** Depth of the object fields of one {@code data} element: root object, data array, element. */
+    private static final int ELEMENT_DEPTH = 3;
+
+    private final JsonParser parser;
+
+    private final Sink<T> sink;
+
+    private int depth;
+
+    private String rootField;
+
+    private boolean inData;
+
+    private RosterJsonStream(JsonParser parser, Sink<T> sink) {
+        this.parser = parser;
+        this.sink = sink;
+    }
+
+    static Flux<EmployeeDTO> decode(Flux<DataBuffer> body, ObjectMapper mapper, RosterProjection projection) {
+        ObjectReader reader =
+                mapper.readerFor(EmployeeDTO.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return run(body, mapper, parser -> new DecodingSink(parser, reader, projection));
+    }
+
+    static Flux<DataBuffer> transcode(
+            Flux<DataBuffer> body, ObjectMapper mapper, DataBufferFactory bufferFactory, RosterFormat format) {
+        return run(body, mapper, parser -> new TranscodingSink(parser, mapper, bufferFactory, format));
+    }
+
+    private static <T> Flux<T> run(Flux<DataBuffer> body, ObjectMapper mapper, SinkFactory<T> sinkFactory) {
+        return Flux.defer(() -> {
+            RosterJsonStream<T> stream;
+            try {
+                JsonParser parser = mapper.getFactory().createNonBlockingByteArrayParser();
+                stream = new RosterJsonStream<>(parser, sinkFactory.create(parser));
+            } catch (IOException e) {
+                return Flux.error(malformed(e));
+            }
+            return body.concatMapIterable(stream::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(stream.endOfInput())))
+                    .doFinally(signal -> stream.close());
+        });
+    }
+
+    private List<T> feed(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+            List<T> out = new ArrayList<>();
+            drain(out);
+            sink.flush(out);
+            return out;
+        } catch (IOException e) {
+            throw malformed(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private List<T> endOfInput() {
+        try {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).endOfInput();
+            List<T> out = new ArrayList<>();
+            drain(out);
+            if (depth != 0) {
+                throw malformed(new IOException("Roster response ended inside a JSON value"));
+            }
+            sink.finish(out);
+            return out;
+        } catch (IOException e) {
+            throw malformed(e);
+        }
+    }
+
+    private void drain(List<T> out) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            onToken(token, out);
+        }
+    }
+
+    /** Advances the state machine by one token, handing every token inside a {@code data} element to the sink. */
+    private void onToken(JsonToken token, List<T> out) throws IOException {
+        boolean inElement = inData && depth >= ELEMENT_DEPTH;
+        if (token.isStructStart()) {
+            depth++;
+            if (depth == 2 && token == JsonToken.START_ARRAY && DATA_FIELD.equals(rootField)) {
+                inData = true;
+                sink.dataStart();
+                return;
+            }
+            if (inData && depth == ELEMENT_DEPTH && token == JsonToken.START_OBJECT) {
+                sink.elementStart();
+                return;
+            }
+        } else if (token.isStructEnd()) {
+            depth--;
+            if (inData && depth == ELEMENT_DEPTH - 1 && token == JsonToken.END_OBJECT) {
+                sink.elementEnd(out);
+                return;
+            }
+            if (inData && depth == 1) {
+                inData = false;
+                sink.dataEnd();
+                return;
+            }
+        } else if (token == JsonToken.FIELD_NAME && depth == 1) {
+            rootField = parser.currentName();
+        }
+        if (inElement) {
+            sink.elementToken(token, depth == ELEMENT_DEPTH);
+        }
+    }
+
+    private void close() {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // Nothing left to release.
+        }
+    }
+
+    /** Maps the server's {@code employee_*} keys onto the {@code EmployeeDTO} property names they alias. */
+    private static String canonicalField(String field) {
+        return field.startsWith(UPSTREAM_FIELD_PREFIX) ? field.substring(UPSTREAM_FIELD_PREFIX.length()) : field;
+    }
+
+    private static ApiException malformed(IOException cause) {
+        ApiException exception =
+                new ApiException("Malformed roster response from server", HttpStatus.INTERNAL_SERVER_ERROR);
+        exception.initCause(cause);
+        return exception;
+    }
+
+    @FunctionalInterface
+    private interface SinkFactory<T> {
+        Sink<T> create(JsonParser parser) throws IOException;
+    }
+
+    /** Receives the tokens of the {@code data} array; the parser is positioned on the token being reported. */
+    private interface Sink<T> {
+
+        default void dataStart() throws IOException {}
+
+        void elementStart() throws IOException;
+
+        /**
+         * A token strictly inside an element, between the braces reported by {@link #elementStart()} and
+         * {@link #elementEnd}; {@code topLevel} for the element's own fields and values.
+         */
+        void elementToken(JsonToken token, boolean topLevel) throws IOException;
+
+        void elementEnd(List<T> out) throws IOException;
+
+        default void dataEnd() throws IOException {}
+
+        /** Called after every input buffer. */
+        default void flush(List<T> out) throws IOException {}
+
+        default void finish(List<T> out) throws IOException {}
+    }
+
+    private static final class DecodingSink implements Sink<EmployeeDTO> {
+
+        private final JsonParser parser;
+
+        private final ObjectReader reader;
+
+        private final RosterProjection projection;
+
+        private TokenBuffer fullElement;
+
+        private EmployeeDTO projected;
+
+        private String field;
+
+        DecodingSink(JsonParser parser, ObjectReader reader, RosterProjection projection) {
+            this.parser = parser;
+            this.reader = reader;
+            this.projection = projection;
+        }
+
+        @Override
+        public void elementStart() throws IOException {
+            if (projection == RosterProjection.FULL) {
+                fullElement = new TokenBuffer(parser, null);
+                fullElement.copyCurrentEvent(parser);
+            } else {
+                projected = new EmployeeDTO();
+            }
+        }
+
+        @Override
+        public void elementToken(JsonToken token, boolean topLevel) throws IOException {
+            if (fullElement != null) {
+                fullElement.copyCurrentEvent(parser);
+            } else if (!topLevel) {
+                return;
+            } else if (token == JsonToken.FIELD_NAME) {
+                field = canonicalField(parser.currentName());
+            } else if (token.isScalarValue() && token != JsonToken.VALUE_NULL && projection.includes(field)) {
+                project();
+            }
+        }
+
+        @Override
+        public void elementEnd(List<EmployeeDTO> out) throws IOException {
+            if (fullElement != null) {
+                fullElement.copyCurrentEvent(parser);
+                try (JsonParser element = fullElement.asParser(reader)) {
+                    out.add(reader.readValue(element));
+                } finally {
+                    fullElement = null;
+                }
+            } else {
+                out.add(projected);
+                projected = null;
+            }
+        }
+
+        private void project() throws IOException {
+            switch (field) {
+                case "id" -> projected.setId(UUID.fromString(parser.getText()));
+                case "name" -> projected.setName(parser.getText());
+                case "salary" -> projected.setSalary(parser.getIntValue());
+                case "age" -> projected.setAge(parser.getIntValue());
+                case "title" -> projected.setTitle(parser.getText());
+                case "email" -> projected.setEmail(parser.getText());
+                default -> {}
+            }
+        }
+    }
+
+    private static final class TranscodingSink implements Sink<DataBuffer> {
+
+        private final JsonParser parser;
+
+        private final DataBufferFactory bufferFactory;
+
+        private final RosterFormat format;
+
+        private final ByteArrayBuilder output = new ByteArrayBuilder();
+
+        private final JsonGenerator generator;
+
+        /** Property names {@link EmployeeDTO} serializes; anything else upstream sends is dropped. */
+        private final Set<String> properties;
+
+        private boolean arrayWritten;
+
+        /** The field whose value is being read, or {@code null} while skipping one {@link #properties} lacks. */
+        private String field;
+
+        /** Depth inside the current field's value: 0 between fields. */
+        private int nesting;
+
+        TranscodingSink(JsonParser parser, ObjectMapper mapper, DataBufferFactory bufferFactory, RosterFormat format)
+                throws IOException {
+            this.parser = parser;
+            this.bufferFactory = bufferFactory;
+            this.format = format;
+            this.generator = mapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+            this.properties = mapper
+                    .getSerializationConfig()
+                    .introspect(mapper.constructType(EmployeeDTO.class))
+                    .findProperties()
+                    .stream()
+                    .map(BeanPropertyDefinition::getName)
+                    .collect(Collectors.toUnmodifiableSet());
+            // NDJSON records end with their own newline as soon as they are complete.
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void dataStart() throws IOException {
+            if (format == RosterFormat.JSON_ARRAY && !arrayWritten) {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        public void elementStart() throws IOException {
+            generator.writeStartObject();
+        }
+
+        @Override
+        public void elementToken(JsonToken token, boolean topLevel) throws IOException {
+            if (nesting == 0 && token == JsonToken.FIELD_NAME) {
+                String name = canonicalField(parser.currentName());
+                field = properties.contains(name) ? name : null;
+                return;
+            }
+            boolean valueStart = nesting == 0;
+            if (token.isStructStart()) {
+                nesting++;
+            } else if (token.isStructEnd()) {
+                nesting--;
+            }
+            // The field name waits for its value, so a null drops the pair as NON_NULL would.
+            if (field == null || (valueStart && token == JsonToken.VALUE_NULL)) {
+                return;
+            }
+            if (valueStart) {
+                generator.writeFieldName(field);
+            }
+            generator.copyCurrentEvent(parser);
+        }
+
+        @Override
+        public void elementEnd(List<DataBuffer> out) throws IOException {
+            generator.writeEndObject();
+            if (format == RosterFormat.NDJSON) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        @Override
+        public void dataEnd() throws IOException {
+            if (format == RosterFormat.JSON_ARRAY && !arrayWritten) {
+                generator.writeEndArray();
+                arrayWritten = true;
+            }
+        }
+
+        @Override
+        public void flush(List<DataBuffer> out) throws IOException {
+            generator.flush();
+            if (output.size() > 0) {
+                out.add(bufferFactory.wrap(output.toByteArray()));
+                output.reset();
+            }
+        }
+
+        @Override
+        public void finish(List<DataBuffer> out) throws IOException {
+            if (format == RosterFormat.JSON_ARRAY && !arrayWritten) {
+                // No data array upstream: still answer with a well-formed, empty list.
+                generator.writeStartArray();
+                generator.writeEndArray();
+                arrayWritten = true;
+            }
+            generator.close();
+            flush(out);
+        }
+    }
+}
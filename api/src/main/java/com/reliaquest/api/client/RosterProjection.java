@@ -0,0 +1,34 @@
+package com.reliaquest.api.client;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Which employee fields {@link RosterJsonStream} materializes. Fields outside the projection are tokenized but never
+ * turned into strings or numbers, and are not asked of the server at all: it serializes only the fields listed in
+ * {@code ?fields=}.
+ */
+public enum RosterProjection {
+    /** Every field, bound through Jackson exactly as the non-streaming responses are. */
+    FULL(Set.of()),
+    /** Enough to rank employees by salary and report their names. */
+    NAME_AND_SALARY(Set.of("id", "name", "salary")),
+    /** Enough to aggregate salaries. */
+    SALARY(Set.of("salary"));
+
+    private final Set<String> fields;
+
+    RosterProjection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /** Whether {@code field}, an {@code EmployeeDTO} property name, is materialized by this projection. */
+    boolean includes(String field) {
+        return this == FULL || fields.contains(field);
+    }
+
+    /** The server's {@code fields} parameter for this projection, sorted; empty for {@link #FULL}. */
+    Optional<String> serverFields() {
+        return this == FULL ? Optional.empty() : Optional.of(String.join(",", fields.stream().sorted().toList()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.reliaquest.api.client;
+
+/**
+ * Where a roster read left off on the server: its run ({@code epoch}) and the roster version within that run. The
+ * server's change feed continues from here.
+ */
+public record RosterVersion(String epoch, long version) {}
@@ -0,0 +1,180 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.QuotaExhaustedException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Client-side pacer for the mock server's request quota: the server accepts a fixed number of requests and then
+ * rejects everything with 429 for a fixed block window measured from the last accepted request.
+ *
+ * <p>Nothing is paced until the first 429. From then on the pacer works in windows of {@code limit} requests: the limit
+ * is learned as the number of requests the server accepted before it started rejecting, and the block window as the
+ * time between the last accepted request and the first accepted request after the rejections (starting from
+ * {@code upstream-pacer.initial-block-ms}). When a window is used up, requests are queued on a timer into the next one
+ * if they would wait at most {@code upstream-pacer.max-queue-wait-ms}, and fail fast with
+ * {@link QuotaExhaustedException} otherwise, so neither quota nor retries are spent on calls that are certain to be
+ * rejected.
+ *
+ * <p>Installed on the {@code WebClient} as an {@link ExchangeFilterFunction}, so every upstream attempt, including
+ * retries, goes through it. Requests carrying the {@link #UNPACED} attribute bypass it: the event stream is one
+ * long-lived request the server leaves out of its quota, so it neither waits for a slot nor uses one up.
+ */
+@Component
+@Slf4j
+public class UpstreamRatePacer {
+
+    /** Request attribute marking a request the server does not count against its quota. */
+    public static final String UNPACED = UpstreamRatePacer.class.getName() + ".UNPACED";
+
+    private static final int UNKNOWN_LIMIT = Integer.MAX_VALUE;
+
+    /** How much longer to assume the block lasts when the current estimate turned out too short. */
+    private static final long BLOCK_PROBE_MILLIS = 1000;
+
+    private final boolean enabled;
+
+    private final long maxQueueWaitMillis;
+
+    private int limit = UNKNOWN_LIMIT;
+
+    private long blockMillis;
+
+    /** Requests granted from the current window. */
+    private int used;
+
+    /** Requests already promised a slot in the next window. */
+    private int reservedNext;
+
+    /** When the next window opens, or {@code 0} while the current one still has room. */
+    private long nextWindowAt;
+
+    private int acceptedInWindow;
+
+    private long lastAcceptedAt;
+
+    private boolean blocked;
+
+    /** When the current block was first observed. */
+    private long blockedAt;
+
+    /** Last accepted request before the current block; the server measures the block from there. */
+    private long blockReference;
+
+    public UpstreamRatePacer(
+            @Value("${upstream-pacer.enabled:true}") boolean enabled,
+            @Value("${upstream-pacer.initial-block-ms:30000}") long initialBlockMillis,
+            @Value("${upstream-pacer.max-queue-wait-ms:2000}") long maxQueueWaitMillis) {
+        this.enabled = enabled;
+        this.blockMillis = initialBlockMillis;
+        this.maxQueueWaitMillis = maxQueueWaitMillis;
+    }
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            if (request.attribute(UNPACED).isPresent()) {
+                return next.exchange(request);
+            }
+            return acquire().then(Mono.defer(() -> {
+                long sentAt = System.currentTimeMillis();
+                return next.exchange(request)
+                        .doOnNext(response ->
+                                record(response.statusCode().value(), sentAt, System.currentTimeMillis()));
+            }));
+        };
+    }
+
+    public Mono<Void> acquire() {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long wait = reserve(System.currentTimeMillis());
+            if (wait < 0) {
+                return Mono.error(new QuotaExhaustedException(Duration.ofMillis(-wait)));
+            }
+            if (wait == 0) {
+                return Mono.empty();
+            }
+            log.debug("Upstream quota used up, delaying request by {} ms", wait);
+            return Mono.delay(Duration.ofMillis(wait)).then();
+        });
+    }
+
+    /**
+     * Claims a slot. Returns {@code 0} to send now, a positive delay to send later, or the negated time until a slot
+     * frees up when that is beyond the allowed queue wait.
+     */
+    synchronized long reserve(long now) {
+        roll(now);
+        if (used < limit) {
+            if (limit != UNKNOWN_LIMIT) {
+                used++;
+                if (used == limit) {
+                    nextWindowAt = now + blockMillis;
+                }
+            }
+            return 0;
+        }
+        long wait = Math.max(1, nextWindowAt - now);
+        if (reservedNext >= limit) {
+            return -(wait + blockMillis);
+        }
+        if (wait > maxQueueWaitMillis) {
+            return -wait;
+        }
+        reservedNext++;
+        return wait;
+    }
+
+    synchronized void record(int status, long sentAt, long now) {
+        if (status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+            if (blocked && sentAt >= blockedAt) {
+                // First request sent after the 429s that got through: the block ended somewhere before now.
+                blockMillis = Math.max(1, now - blockReference);
+                blocked = false;
+                acceptedInWindow = 0;
+                log.info("Learned upstream quota: {} requests, then blocked for ~{} ms", limit(), blockMillis);
+            }
+            if (!blocked) {
+                acceptedInWindow++;
+            }
+            lastAcceptedAt = Math.max(lastAcceptedAt, now);
+            return;
+        }
+        if (!blocked) {
+            if (acceptedInWindow > 0) {
+                limit = acceptedInWindow;
+            }
+            blocked = true;
+            blockedAt = now;
+            blockReference = lastAcceptedAt > 0 ? lastAcceptedAt : now;
+        }
+        if (blockReference + blockMillis <= now) {
+            blockMillis = now - blockReference + BLOCK_PROBE_MILLIS;
+        }
+        used = Math.max(used, limit);
+        nextWindowAt = Math.max(nextWindowAt, blockReference + blockMillis);
+    }
+
+    private void roll(long now) {
+        if (nextWindowAt != 0 && now >= nextWindowAt) {
+            used = reservedNext;
+            reservedNext = 0;
+            nextWindowAt = used >= limit ? now + blockMillis : 0;
+        }
+    }
+
+    public synchronized int limit() {
+        return limit == UNKNOWN_LIMIT ? -1 : limit;
+    }
+
+    public synchronized long blockMillis() {
+        return blockMillis;
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.client;
+
+/**
+ * A value read from the server with the ETag it was served under; {@code null} when the server sent none. Roster reads
+ * also carry the {@link RosterVersion} they reflect, when the server reports one.
+ */
+public record Versioned<T>(T value, String etag, RosterVersion rosterVersion) {
+
+    public Versioned(T value, String etag) {
+        this(value, etag, null);
+    }
+}
@@ -1,5 +1,6 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.UpstreamRatePacer;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -13,53 +14,145 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
 
 @Configuration
-@EnableRetry
 @Slf4j
 public class AppConfig {
 
-    @Value("${web-client.config.connection-timeout:500000}")
+    @Value("${web-client.config.connection-timeout:5000}")
     private int connectionTimeoutMillis;
 
-    @Value("${web-client.config.read-timeout:200000}")
+    @Value("${web-client.config.read-timeout:30000}")
     private int readTimeoutMillis;
 
-    @Value("${web-client.config.write-timeout:200000}")
+    @Value("${web-client.config.write-timeout:30000}")
     private int writeTimeoutMillis;
 
-    @Value("${web-client.config.response-timeout:200000}")
+    @Value("${web-client.config.response-timeout:30000}")
     private int responseTimeoutMillis;
 
+    /** Cap on buffered single-entity responses; the roster is streamed and never buffered whole. */
+    @Value("${web-client.config.max-in-memory-size:1048576}")
+    private int maxInMemorySize;
+
+    /** Speak HTTP/2 over cleartext (prior knowledge) to the server, multiplexing every call over few connections. */
+    @Value("${web-client.config.h2c:false}")
+    private boolean h2c;
+
+    /** Trust any server certificate. Only meant for a self-signed mock server reached over https. */
+    @Value("${web-client.config.insecure-trust-all:false}")
+    private boolean insecureTrustAll;
+
+    @Value("${web-client.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${web-client.pool.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${web-client.pool.pending-acquire-timeout-ms:2000}")
+    private long pendingAcquireTimeoutMillis;
+
+    @Value("${web-client.pool.max-idle-time-ms:30000}")
+    private long maxIdleTimeMillis;
+
+    @Value("${web-client.pool.max-life-time-ms:300000}")
+    private long maxLifeTimeMillis;
+
+    @Value("${web-client.pool.evict-in-background-ms:30000}")
+    private long evictInBackgroundMillis;
+
+    @Value("${web-client.pool.metrics:true}")
+    private boolean poolMetrics;
+
+    /** Event-loop threads for upstream I/O; {@code 0} means one per core. */
+    @Value("${web-client.loop.threads:0}")
+    private int loopThreads;
+
+    @Value("${web-client.loop.thread-prefix:employee-client}")
+    private String loopThreadPrefix;
+
+    /** Use io_uring or epoll when its native library is on the classpath, NIO otherwise. */
+    @Value("${web-client.loop.prefer-native:true}")
+    private boolean preferNativeTransport;
+
+    /**
+     * Event loops owned by the upstream client alone, so its I/O is not queued behind the server's or anyone else's
+     * on Reactor Netty's global loops. Threads are named {@code <thread-prefix>-<transport>-<n>}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources employeeServerLoopResources() {
+        int threads = loopThreads > 0 ? loopThreads : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        log.info(
+                "Upstream client event loop: {} threads, native transport {}",
+                threads,
+                preferNativeTransport && LoopResources.hasNativeSupport() ? "enabled" : "disabled");
+        return LoopResources.create(loopThreadPrefix, threads, true);
+    }
+
+    /**
+     * Dedicated pool for upstream calls. Idle and aged connections are evicted in the background rather than found dead
+     * on acquire, and callers queue for at most {@code pending-acquire-timeout-ms} when the pool is exhausted. With
+     * {@code metrics} on, Reactor Netty publishes {@code reactor.netty.connection.provider.*} gauges to Micrometer.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider employeeServerConnectionProvider() {
+        return ConnectionProvider.builder("employee-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMillis))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMillis))
+                .evictInBackground(Duration.ofMillis(evictInBackgroundMillis))
+                .metrics(poolMetrics)
+                .build();
+    }
+
+    /**
+     * The upstream HTTP client: the dedicated pool and event loops, the configured protocol and timeouts, and TLS that
+     * trusts any certificate only when {@code insecure-trust-all} is set.
+     */
     @Bean
-    public WebClient getWebClient() throws Exception {
+    public HttpClient employeeServerHttpClient(
+            ConnectionProvider employeeServerConnectionProvider, LoopResources employeeServerLoopResources)
+            throws Exception {
         try {
-            SslContext sslContext = SslContextBuilder.forClient()
-                    .trustManager(InsecureTrustManagerFactory.INSTANCE)
-                    .build();
-            final ExchangeStrategies strategies = ExchangeStrategies.builder()
-                    .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
-                    .build();
-            HttpClient httpClient = HttpClient.create()
-                    .secure(t -> t.sslContext(sslContext))
+            HttpClient httpClient = HttpClient.create(employeeServerConnectionProvider)
+                    .runOn(employeeServerLoopResources, preferNativeTransport)
+                    .protocol(h2c ? HttpProtocol.H2C : HttpProtocol.HTTP11)
                     .option(ChannelOption.SO_KEEPALIVE, true)
                     .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutMillis)
                     .responseTimeout(Duration.ofMillis(responseTimeoutMillis))
                     .doOnConnected(conn -> conn.addHandlerLast(
                                     new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS))
                             .addHandlerLast(new WriteTimeoutHandler(writeTimeoutMillis, TimeUnit.MILLISECONDS)));
-
-            return WebClient.builder()
-                    .exchangeStrategies(strategies)
-                    .clientConnector(new ReactorClientHttpConnector(httpClient))
-                    .build();
+            if (insecureTrustAll) {
+                SslContext sslContext = SslContextBuilder.forClient()
+                        .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                        .build();
+                httpClient = httpClient.secure(t -> t.sslContext(sslContext));
+            }
+            return httpClient;
         } catch (Exception e) {
             log.error("Fatal error, Exception occurred while creating WebClient", e);
             throw e;
         }
     }
+
+    @Bean
+    public WebClient getWebClient(HttpClient employeeServerHttpClient, UpstreamRatePacer upstreamRatePacer) {
+        final ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .build();
+        return WebClient.builder()
+                .exchangeStrategies(strategies)
+                .clientConnector(new ReactorClientHttpConnector(employeeServerHttpClient))
+                .filter(upstreamRatePacer.filter())
+                .build();
+    }
 }
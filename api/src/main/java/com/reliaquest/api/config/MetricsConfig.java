@@ -0,0 +1,76 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.EmployeeServerClient;
+import com.reliaquest.api.client.UpstreamRatePacer;
+import com.reliaquest.api.utils.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges over state the api already keeps: request coalescing, the learned upstream rate limit and both caches.
+ * Upstream call latency and errors are recorded by {@code UpstreamMetrics}; per-endpoint latency is Spring Boot's
+ * {@code http.server.requests}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder singleFlightMetrics(EmployeeServerClient employeeServerClient) {
+        return registry -> {
+            bind(registry, employeeServerClient.getRosterFlight());
+            bind(registry, employeeServerClient.getEmployeeByIdFlight());
+        };
+    }
+
+    @Bean
+    public MeterBinder upstreamPacerMetrics(UpstreamRatePacer upstreamRatePacer) {
+        return registry -> {
+            Gauge.builder("upstream.pacer.limit", upstreamRatePacer, UpstreamRatePacer::limit)
+                    .description("Learned requests per window; -1 until the first 429")
+                    .register(registry);
+            Gauge.builder("upstream.pacer.block", upstreamRatePacer, UpstreamRatePacer::blockMillis)
+                    .description("Estimated length of the server's lockout")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(RosterCache rosterCache, EmployeeByIdCache employeeByIdCache) {
+        return registry -> {
+            Gauge.builder("roster.cache.staleness", rosterCache, RosterCache::stalenessMillis)
+                    .description("How long past its expiry the served roster is")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("employee.cache.size", employeeByIdCache, EmployeeByIdCache::size)
+                    .register(registry);
+            FunctionCounter.builder("employee.cache.requests", employeeByIdCache, c -> c.stats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("employee.cache.requests", employeeByIdCache, c -> c.stats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    private static void bind(MeterRegistry registry, SingleFlight<?, ?> flight) {
+        Gauge.builder("upstream.single.flight.in.flight", flight, SingleFlight::inFlight)
+                .description("Distinct upstream calls currently shared by coalesced callers")
+                .tag("operation", flight.getName())
+                .register(registry);
+        FunctionCounter.builder("upstream.single.flight.calls", flight, f -> f.calls() - f.merged())
+                .tag("operation", flight.getName())
+                .tag("result", "issued")
+                .register(registry);
+        FunctionCounter.builder("upstream.single.flight.calls", flight, SingleFlight::merged)
+                .tag("operation", flight.getName())
+                .tag("result", "merged")
+                .register(registry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Active with the {@code virtual} profile. Spring Boot runs Tomcat request handling (and with it every blocking
+ * {@code block()} in {@code EmployeeServiceImpl}) on virtual threads, but only on Java 21+; on older runtimes it
+ * silently keeps the platform thread pool. Fail at startup instead, so a jar built without {@code -PjavaVersion=21}
+ * is noticed before it takes load.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    public VirtualThreadConfig() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException(
+                    "spring.threads.virtual.enabled requires Java 21 or newer, running on " + Runtime.version());
+        }
+        log.info("Serving requests on virtual threads");
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A page of the server's change feed: the creates and deletes after the version asked for, oldest first. */
+@Data
+@NoArgsConstructor
+public class ChangeFeedDTO {
+
+    private String epoch;
+
+    /** Roster version the changes bring the reader to; ask from here next. */
+    private long version;
+
+    private List<Change> changes = new ArrayList<>();
+
+    /** Further changes follow this page. */
+    private boolean more;
+
+    /** The server cannot bridge the gap and the roster must be read in full. */
+    private boolean resync;
+
+    @Data
+    @NoArgsConstructor
+    public static class Change {
+
+        private long version;
+
+        private Type type;
+
+        private EmployeeDTO employee;
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.api.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One event of the server's roster event stream: a change and the roster version it produced, or with no
+ * {@code change} just the server's current version.
+ */
+@Data
+@NoArgsConstructor
+public class RosterEventDTO {
+
+    private String epoch;
+
+    private long version;
+
+    private ChangeFeedDTO.Change change;
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.dto.api.response;
+
+import com.reliaquest.api.dto.ChangeFeedDTO;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Data
+public class ChangeFeedResponse extends Response<ChangeFeedDTO> {}
@@ -0,0 +1,3 @@
+package com.reliaquest.api.dto.api.response;
+
+public class SalaryResponse extends Response<Integer> {}
@@ -1,5 +1,6 @@
 package com.reliaquest.api.exception;
 
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.http.HttpStatus;
 
@@ -7,8 +8,16 @@ import org.springframework.http.HttpStatus;
 public class ApiException extends RuntimeException {
     private final HttpStatus status;
 
+    /** How long the caller should wait before trying again, when known; {@code null} otherwise. */
+    private final Duration retryAfter;
+
     public ApiException(String message, HttpStatus status) {
+        this(message, status, null);
+    }
+
+    public ApiException(String message, HttpStatus status, Duration retryAfter) {
         super(message);
         this.status = status;
+        this.retryAfter = retryAfter;
     }
 }
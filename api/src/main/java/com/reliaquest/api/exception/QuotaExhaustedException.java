@@ -0,0 +1,15 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised locally, without contacting the server, when the upstream request quota is known to be exhausted for longer
+ * than a caller is allowed to wait. Not retried: any attempt before {@link #getRetryAfter()} would fail the same way.
+ */
+public class QuotaExhaustedException extends ApiException {
+
+    public QuotaExhaustedException(Duration retryAfter) {
+        super("Rate Limit Reached, try after some time", HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+    }
+}
@@ -1,5 +1,6 @@
 package com.reliaquest.api.rest.controller;
 
+import com.reliaquest.api.client.RosterFormat;
 import com.reliaquest.api.dto.EmployeeCreateRequest;
 import com.reliaquest.api.dto.EmployeeDTO;
 import com.reliaquest.api.service.EmployeeService;
@@ -7,27 +8,47 @@ import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/employee")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class EmployeeController implements IEmployeeController<EmployeeDTO, EmployeeCreateRequest> {
+    /** Set on roster-backed reads served past the cache TTL, with how many milliseconds past it they are. */
+    public static final String STALE_HEADER = "X-Roster-Stale-Ms";
+
     private final EmployeeService employeeService;
 
     @Override
     public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
         List<EmployeeDTO> allEmployees = employeeService.getAllEmployees();
-        return new ResponseEntity<>(allEmployees, HttpStatus.OK);
+        return rosterResponse(allEmployees);
+    }
+
+    /**
+     * {@code GET /v1/employee?stream=true}: the same list, transcoded from upstream as it arrives instead of being
+     * collected first; NDJSON if the client accepts {@code application/x-ndjson}.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(@RequestHeader HttpHeaders headers) {
+        RosterFormat format = RosterFormat.negotiate(headers.getAccept());
+        StreamingResponseBody body = out -> employeeService.writeAllEmployees(format, out);
+        return ResponseEntity.ok().contentType(format.mediaType()).body(body);
     }
 
     @Override
     public ResponseEntity<List<EmployeeDTO>> getEmployeesByNameSearch(String searchString) {
-        return new ResponseEntity<>(employeeService.getEmployeesByNameSearch(searchString), HttpStatus.OK);
+        return rosterResponse(employeeService.getEmployeesByNameSearch(searchString));
     }
 
     @Override
@@ -38,13 +59,13 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
 
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        return new ResponseEntity<>(employeeService.getHighestSalaryOfEmployees(), HttpStatus.OK);
+        return rosterResponse(employeeService.getHighestSalaryOfEmployees());
     }
 
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         List<String> topTenNames = employeeService.getTopTenHighestEarningEmployeeNames();
-        return new ResponseEntity<>(topTenNames, HttpStatus.OK);
+        return rosterResponse(topTenNames);
     }
 
     @Override
@@ -56,4 +77,13 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
         return new ResponseEntity<>(employeeService.deleteEmployeeById(id), HttpStatus.NO_CONTENT);
     }
+
+    private <T> ResponseEntity<T> rosterResponse(T body) {
+        long staleMillis = employeeService.getRosterStalenessMillis();
+        var builder = ResponseEntity.ok();
+        if (staleMillis > 0) {
+            builder.header(STALE_HEADER, String.valueOf(staleMillis));
+        }
+        return builder.body(body);
+    }
 }
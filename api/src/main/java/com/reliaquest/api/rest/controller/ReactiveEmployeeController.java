@@ -0,0 +1,99 @@
+package com.reliaquest.api.rest.controller;
+
+import com.reliaquest.api.client.RosterFormat;
+import com.reliaquest.api.dto.EmployeeCreateRequest;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link EmployeeController}, active when the api runs with the {@code reactive} profile. It
+ * mirrors the paths, status codes and payloads of {@link IEmployeeController}; it cannot implement the interface
+ * itself because every handler returns a {@link Mono}.
+ */
+@RestController
+@RequestMapping("/v1/employee")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveEmployeeController {
+    private final ReactiveEmployeeService employeeService;
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<EmployeeDTO>>> getAllEmployees() {
+        return employeeService.getAllEmployees().collectList().map(this::rosterResponse);
+    }
+
+    /** See {@link EmployeeController#streamAllEmployees}. */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<Flux<DataBuffer>> streamAllEmployees(@RequestHeader HttpHeaders headers) {
+        RosterFormat format = RosterFormat.negotiate(headers.getAccept());
+        return ResponseEntity.ok().contentType(format.mediaType()).body(employeeService.streamAllEmployees(format));
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<EmployeeDTO>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return employeeService
+                .getEmployeesByNameSearch(searchString)
+                .collectList()
+                .map(this::rosterResponse);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeDTO>> getEmployeeById(@PathVariable String id) {
+        return employeeService.getEmployeeById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees().map(this::rosterResponse);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService
+                .getTopTenHighestEarningEmployeeNames()
+                .collectList()
+                .map(this::rosterResponse);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<EmployeeDTO>> createEmployee(@Valid @RequestBody EmployeeCreateRequest employeeInput) {
+        return employeeService
+                .createEmployee(employeeInput)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return employeeService
+                .deleteEmployeeById(id)
+                .map(deleted -> new ResponseEntity<>(deleted, HttpStatus.NO_CONTENT));
+    }
+
+    private <T> ResponseEntity<T> rosterResponse(T body) {
+        long staleMillis = employeeService.getRosterStalenessMillis();
+        var builder = ResponseEntity.ok();
+        if (staleMillis > 0) {
+            builder.header(EmployeeController.STALE_HEADER, String.valueOf(staleMillis));
+        }
+        return builder.body(body);
+    }
+}
@@ -7,6 +7,8 @@ import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class ControllerAdvice {
 
@@ -26,6 +29,10 @@ public class ControllerAdvice {
                 ExceptionUtils.getStackTrace(ex));
         var body = new ErrorResponse(ex.getMessage(), ex.getStatus().value());
         var builder = ResponseEntity.status(ex.getStatus());
+        if (ex.getRetryAfter() != null) {
+            long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        }
         return builder.body(body);
     }
 
@@ -0,0 +1,62 @@
+package com.reliaquest.api.rest.controller.advice;
+
+import com.reliaquest.api.dto.ErrorResponse;
+import com.reliaquest.api.exception.ApiException;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+/** Same error contract as {@link ControllerAdvice}, for the WebFlux runtime. */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveControllerAdvice {
+
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<ErrorResponse> handleApi(ApiException ex, ServerHttpRequest req) {
+        log.error(
+                "Exception occured while calling {}, exception {}",
+                req.getPath().value(),
+                ExceptionUtils.getStackTrace(ex));
+        var body = new ErrorResponse(ex.getMessage(), ex.getStatus().value());
+        var builder = ResponseEntity.status(ex.getStatus());
+        if (ex.getRetryAfter() != null) {
+            long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        }
+        return builder.body(body);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationExceptions(
+            WebExchangeBindException ex, ServerHttpRequest req) {
+        log.error(
+                "Validation error occurred while calling {}, exception {}",
+                req.getPath().value(),
+                ExceptionUtils.getStackTrace(ex));
+
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Validation failed");
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("errors", errors);
+
+        return ResponseEntity.badRequest().body(response);
+    }
+}
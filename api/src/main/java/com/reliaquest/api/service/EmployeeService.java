@@ -1,12 +1,18 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.client.RosterFormat;
 import com.reliaquest.api.dto.EmployeeCreateRequest;
 import com.reliaquest.api.dto.EmployeeDTO;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface EmployeeService {
     List<EmployeeDTO> getAllEmployees();
 
+    /** Writes the roster to {@code out} in {@code format} as it arrives from upstream, without holding the list. */
+    void writeAllEmployees(RosterFormat format, OutputStream out) throws IOException;
+
     EmployeeDTO getEmployeeById(String id);
 
     List<EmployeeDTO> getEmployeesByNameSearch(String name);
@@ -18,4 +24,7 @@ public interface EmployeeService {
     EmployeeDTO createEmployee(EmployeeCreateRequest employeeInput);
 
     String deleteEmployeeById(String id);
+
+    /** How far past its expiry the roster behind the list and aggregate reads is; {@code 0} when fresh. */
+    long getRosterStalenessMillis();
 }
@@ -0,0 +1,30 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.RosterFormat;
+import com.reliaquest.api.dto.EmployeeCreateRequest;
+import com.reliaquest.api.dto.EmployeeDTO;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+    Flux<EmployeeDTO> getAllEmployees();
+
+    /** The roster as encoded bytes in {@code format}, passed through from upstream as it arrives. */
+    Flux<DataBuffer> streamAllEmployees(RosterFormat format);
+
+    Mono<EmployeeDTO> getEmployeeById(String id);
+
+    Flux<EmployeeDTO> getEmployeesByNameSearch(String name);
+
+    Mono<Integer> getHighestSalaryOfEmployees();
+
+    Flux<String> getTopTenHighestEarningEmployeeNames();
+
+    Mono<EmployeeDTO> createEmployee(EmployeeCreateRequest employeeInput);
+
+    Mono<String> deleteEmployeeById(String id);
+
+    /** How far past its expiry the roster behind the list and aggregate reads is; {@code 0} when fresh. */
+    long getRosterStalenessMillis();
+}
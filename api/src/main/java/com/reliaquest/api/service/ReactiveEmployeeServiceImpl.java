@@ -0,0 +1,111 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.client.EmployeeServerClient;
+import com.reliaquest.api.client.RosterFormat;
+import com.reliaquest.api.client.Versioned;
+import com.reliaquest.api.dto.EmployeeCreateRequest;
+import com.reliaquest.api.dto.EmployeeDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private static final int TOP_EARNERS_LIMIT = 10;
+
+    private final EmployeeServerClient employeeServerClient;
+
+    private final RosterCache rosterCache;
+
+    private final EmployeeByIdCache employeeByIdCache;
+
+    @Override
+    public Flux<EmployeeDTO> getAllEmployees() {
+        return rosterCache.snapshot().flatMapIterable(RosterSnapshot::employees);
+    }
+
+    @Override
+    public Flux<DataBuffer> streamAllEmployees(RosterFormat format) {
+        return employeeServerClient.transcodeAllEmployees(format);
+    }
+
+    @Override
+    public Mono<EmployeeDTO> getEmployeeById(String id) {
+        return Mono.defer(() -> employeeByIdCache
+                .get(id)
+                .map(Mono::just)
+                .orElseGet(() -> fetchEmployeeById(id, employeeByIdCache.etag(id).orElse(null))));
+    }
+
+    /** Revalidates a held copy when there is an ETag, falling back to a plain fetch if it was evicted meanwhile. */
+    private Mono<EmployeeDTO> fetchEmployeeById(String id, String etag) {
+        return employeeServerClient
+                .getEmployeeById(id, etag)
+                .doOnNext(employeeByIdCache::put)
+                .map(Versioned::value)
+                .switchIfEmpty(Mono.defer(() -> employeeByIdCache
+                        .revalidated(id)
+                        .map(Mono::just)
+                        .orElseGet(() -> fetchEmployeeById(id, null))));
+    }
+
+    @Override
+    public Flux<EmployeeDTO> getEmployeesByNameSearch(String name) {
+        return rosterCache.nameIndex().flatMapIterable(index -> index.search(name));
+    }
+
+    @Override
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        return rosterCache.highestSalary();
+    }
+
+    @Override
+    public Flux<String> getTopTenHighestEarningEmployeeNames() {
+        return rosterCache.topEarnerNames(TOP_EARNERS_LIMIT);
+    }
+
+    @Override
+    public Mono<EmployeeDTO> createEmployee(EmployeeCreateRequest employeeInput) {
+        return employeeServerClient.createEmployee(employeeInput).doOnNext(created -> {
+            employeeByIdCache.put(created);
+            rosterCache.applyCreated(created);
+        });
+    }
+
+    @Override
+    public Mono<String> deleteEmployeeById(String id) {
+        // The server deletes by name; a cached entry saves the by-id round trip needed to learn it. It removes the
+        // oldest employee with that name, which need not be this one, so the caches drop whoever that was.
+        return getEmployeeById(id)
+                .flatMap(employeeById -> employeeServerClient
+                        .deleteEmployeeByName(employeeById.getName())
+                        .doOnNext(result -> {
+                            if (!Boolean.FALSE.toString().equals(result)) {
+                                forgetDeleted(employeeById.getName());
+                            }
+                        }));
+    }
+
+    /** Without a roster to tell which namesake went, every cached one is dropped and read again on demand. */
+    private void forgetDeleted(String name) {
+        rosterCache
+                .applyDeletedByName(name)
+                .ifPresentOrElse(
+                        removed -> employeeByIdCache.invalidate(removed.getId().toString()),
+                        () -> employeeByIdCache.invalidateNamed(name));
+    }
+
+    @Override
+    public long getRosterStalenessMillis() {
+        return rosterCache.stalenessMillis();
+    }
+}
@@ -3,4 +3,11 @@ package com.reliaquest.api.utils;
 public class Constants {
     public static final String EMPLOYEE = "/employee";
     public static final String EMPLOYEE_BY_ID = "/employee/:id";
+    public static final String EMPLOYEE_SALARY_MAX = "/employee/salary/max";
+    public static final String EMPLOYEE_SALARY_TOP = "/employee/salary/top";
+    public static final String EMPLOYEE_CHANGES = "/employee/changes";
+    public static final String EMPLOYEE_EVENTS = "/employee/events";
+    public static final String PAGE_CURSORS_HEADER = "X-Page-Cursors";
+    public static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+    public static final String ROSTER_EPOCH_HEADER = "X-Roster-Epoch";
 }
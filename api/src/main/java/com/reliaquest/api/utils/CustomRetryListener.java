@@ -1,50 +1,65 @@
 package com.reliaquest.api.utils;
 
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.retry.RetryCallback;
-import org.springframework.retry.RetryContext;
-import org.springframework.retry.RetryListener;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+/**
+ * Observes {@link ReactiveRetry}. Every retry and every give-up is published as a {@link RetryEvent} for
+ * {@code @EventListener}s and counted, so retry behaviour shows up in metrics rather than in the log.
+ */
 @Component("customRetryListener")
-@Slf4j
-public class CustomRetryListener implements RetryListener {
-
-    @Override
-    public <T, E extends Throwable> void onError(
-            RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
-        int attemptNumber = context.getRetryCount() + 1;
-        log.warn(
-                "Retry attempt #{} failed for method: {} - Error: {}",
-                attemptNumber,
-                getMethodName(context),
-                throwable.getMessage());
-    }
-
-    @Override
-    public <T, E extends Throwable> void close(
-            RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
-        if (throwable != null) {
-            int totalAttempts = context.getRetryCount() + 1;
-            log.error(
-                    "All {} retry attempts exhausted for method: {} - Final error: {}",
-                    totalAttempts,
-                    getMethodName(context),
-                    throwable.getMessage());
-        }
-    }
-
-    @Override
-    public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
-        log.info("Starting retryable operation for method: {}", getMethodName(context));
-        return true;
-    }
-
-    private String getMethodName(RetryContext context) {
-        // Extract method name from context if available
-        String methodName = context.getAttribute("context.name") != null
-                ? context.getAttribute("context.name").toString()
-                : "unknown";
-        return methodName;
+@RequiredArgsConstructor
+public class CustomRetryListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final LongAdder operations = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder exhausted = new LongAdder();
+
+    private final LongAdder retryAfterTooLong = new LongAdder();
+
+    public void open(String operation) {
+        operations.increment();
+    }
+
+    public void onError(String operation, long attemptNumber, Duration delay, Throwable throwable) {
+        retries.increment();
+        eventPublisher.publishEvent(
+                new RetryEvent(operation, RetryEvent.Type.RETRY_SCHEDULED, attemptNumber, delay, throwable));
+    }
+
+    public void close(String operation, long totalAttempts, Throwable throwable) {
+        exhausted.increment();
+        eventPublisher.publishEvent(
+                new RetryEvent(operation, RetryEvent.Type.EXHAUSTED, totalAttempts, Duration.ZERO, throwable));
+    }
+
+    public void onRetryAfterTooLong(String operation, long attemptNumber, Throwable throwable) {
+        retryAfterTooLong.increment();
+        eventPublisher.publishEvent(new RetryEvent(
+                operation, RetryEvent.Type.RETRY_AFTER_TOO_LONG, attemptNumber, Duration.ZERO, throwable));
+    }
+
+    /** Retryable operations started, including the ones that succeeded first time. */
+    public long operations() {
+        return operations.sum();
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    public long exhausted() {
+        return exhausted.sum();
+    }
+
+    public long retryAfterTooLong() {
+        return retryAfterTooLong.sum();
     }
 }
@@ -0,0 +1,111 @@
+package com.reliaquest.api.utils;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.exception.QuotaExhaustedException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Retries rate limited (429) upstream calls using the {@code retry.*} properties. Backoff is scheduled with
+ * {@link Mono#delay} so waiting for the next attempt never holds a thread.
+ *
+ * <p>A {@code Retry-After} from upstream (see {@link ApiException#getRetryAfter()}) is a lower bound for the next
+ * delay. If it is longer than {@code retry.max-delay-ms} the call fails straight away instead, with the hint intact,
+ * rather than holding the caller through the server's lockout.
+ *
+ * <p>Each call is timed as a whole by {@link UpstreamMetrics}, so its latency includes every attempt and backoff.
+ */
+@Component
+public class ReactiveRetry {
+
+    private final CustomRetryListener customRetryListener;
+
+    private final UpstreamMetrics upstreamMetrics;
+
+    private final int maxAttempts;
+
+    private final long delayMillis;
+
+    private final double multiplier;
+
+    private final long maxDelayMillis;
+
+    private final boolean jitter;
+
+    public ReactiveRetry(
+            CustomRetryListener customRetryListener,
+            UpstreamMetrics upstreamMetrics,
+            @Value("${retry.max-attempts:3}") int maxAttempts,
+            @Value("${retry.delay-ms:1000}") long delayMillis,
+            @Value("${retry.multiplier:2.0}") double multiplier,
+            @Value("${retry.max-delay-ms:5000}") long maxDelayMillis,
+            @Value("${retry.jitter:true}") boolean jitter) {
+        this.customRetryListener = customRetryListener;
+        this.upstreamMetrics = upstreamMetrics;
+        this.maxAttempts = maxAttempts;
+        this.delayMillis = delayMillis;
+        this.multiplier = multiplier;
+        this.maxDelayMillis = maxDelayMillis;
+        this.jitter = jitter;
+    }
+
+    public <T> Mono<T> withRetry(String operation, Mono<T> upstream) {
+        return upstreamMetrics.time(
+                operation, upstream.retryWhen(spec(operation)).doFirst(() -> customRetryListener.open(operation)));
+    }
+
+    /**
+     * Same as {@link #withRetry(String, Mono)} for a streamed response. A 429 is signalled before any element, so a
+     * retry never replays elements the subscriber has already seen.
+     */
+    public <T> Flux<T> withRetry(String operation, Flux<T> upstream) {
+        return upstreamMetrics.time(
+                operation, upstream.retryWhen(spec(operation)).doFirst(() -> customRetryListener.open(operation)));
+    }
+
+    private Retry spec(String operation) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            long attempts = signal.totalRetries() + 1;
+            Throwable failure = signal.failure();
+            if (!isRateLimited(failure)) {
+                return Mono.error(failure);
+            }
+            if (attempts >= maxAttempts) {
+                customRetryListener.close(operation, attempts, failure);
+                return Mono.error(failure);
+            }
+            Duration retryAfter = ((ApiException) failure).getRetryAfter();
+            if (retryAfter != null && retryAfter.toMillis() > maxDelayMillis) {
+                customRetryListener.onRetryAfterTooLong(operation, attempts, failure);
+                return Mono.error(failure);
+            }
+            Duration delay = backoff(attempts);
+            if (retryAfter != null && retryAfter.compareTo(delay) > 0) {
+                delay = retryAfter;
+            }
+            customRetryListener.onError(operation, attempts, delay, failure);
+            return Mono.delay(delay).thenReturn(attempts);
+        }));
+    }
+
+    Duration backoff(long attempts) {
+        double exponential = delayMillis * Math.pow(multiplier, attempts - 1);
+        long capped = (long) Math.min(exponential, maxDelayMillis);
+        if (jitter && capped > 1) {
+            capped = ThreadLocalRandom.current().nextLong(capped / 2, capped + 1);
+        }
+        return Duration.ofMillis(capped);
+    }
+
+    private static boolean isRateLimited(Throwable failure) {
+        return failure instanceof ApiException apiException
+                && !(failure instanceof QuotaExhaustedException)
+                && apiException.getStatus() == HttpStatus.TOO_MANY_REQUESTS;
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.utils;
+
+import java.time.Duration;
+
+/**
+ * Published by {@link CustomRetryListener} whenever {@link ReactiveRetry} schedules another attempt or gives up.
+ *
+ * @param delay time until the next attempt; {@link Duration#ZERO} when giving up
+ */
+public record RetryEvent(String operation, Type type, long attempt, Duration delay, Throwable failure) {
+
+    public enum Type {
+        /** Another attempt was scheduled after {@link #delay()}. */
+        RETRY_SCHEDULED,
+        /** All {@code retry.max-attempts} attempts failed. */
+        EXHAUSTED,
+        /** Upstream asked for a {@code Retry-After} longer than {@code retry.max-delay-ms}, so no retry was made. */
+        RETRY_AFTER_TOO_LONG
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Coalesces concurrent identical calls. While a call for a key is in flight every other caller for that key joins it
+ * and receives the same result (or error) instead of issuing its own request. The entry is dropped as soon as the call
+ * terminates, so nothing is cached beyond the lifetime of a single request.
+ *
+ * <p>The shared call is subscribed to by this class rather than by any caller, so it is not cancelled when its callers
+ * go away: one that joins after all others cancelled still gets its result.
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+
+    @Getter
+    private final String name;
+
+    private final Map<K, Sinks.One<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder merged = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            calls.increment();
+            Sinks.One<V> flight = Sinks.one();
+            Sinks.One<V> joined = inFlight.putIfAbsent(key, flight);
+            if (joined != null) {
+                merged.increment();
+                log.debug("Joined in-flight {} call for {}", name, key);
+                return joined.asMono();
+            }
+            Mono<V> result = flight.asMono();
+            // Leave the map before completing, so a caller reacting to the result starts a flight of its own, and
+            // only ever remove this flight: a newer one may already hold the key.
+            Mono.defer(call).subscribe(
+                    value -> {
+                        inFlight.remove(key, flight);
+                        flight.tryEmitValue(value);
+                    },
+                    error -> {
+                        inFlight.remove(key, flight);
+                        flight.tryEmitError(error);
+                    },
+                    () -> {
+                        inFlight.remove(key, flight);
+                        flight.tryEmitEmpty();
+                    });
+            return result;
+        });
+    }
+    /** Calls made through this instance, merged or not. */
+    public long calls() {
+        return calls.sum();
+    }
+
+    /** Calls that joined an in-flight request instead of going upstream. */
+    public long merged() {
+        return merged.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
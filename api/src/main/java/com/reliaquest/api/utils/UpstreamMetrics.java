@@ -0,0 +1,162 @@
+package com.reliaquest.api.utils;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.exception.QuotaExhaustedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Micrometer meters for calls to the employee server:
+ *
+ * <ul>
+ *   <li>{@value #OPERATION_TIMER}: latency of each operation as its caller sees it, retries and backoff included,
+ *       tagged by {@code operation} and {@code outcome} (the cause of a failure), with a percentile histogram.
+ *   <li>{@value #ERROR_COUNTER}: every non-2xx response, tagged by {@code cause} and {@code status}.
+ *   <li>{@value #RETRY_COUNTER}: every {@link RetryEvent}, tagged by {@code operation} and {@code type}.
+ *   <li>{@value #IN_FLIGHT_GAUGE}: operations currently in progress, per {@code operation}.
+ * </ul>
+ */
+@Component
+public class UpstreamMetrics {
+
+    public static final String OPERATION_TIMER = "upstream.operation";
+
+    public static final String ERROR_COUNTER = "upstream.errors";
+
+    public static final String RETRY_COUNTER = "upstream.retries";
+
+    public static final String IN_FLIGHT_GAUGE = "upstream.in.flight";
+
+    private final MeterRegistry registry;
+
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public UpstreamMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Times {@code call}, recorded before its outcome reaches the subscriber so the caller never outruns it. */
+    public <T> Mono<T> time(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Sample sample = start(operation);
+            return call.doOnSuccess(value -> sample.stop(null))
+                    .doOnError(sample::stop)
+                    .doOnCancel(sample::cancelled);
+        });
+    }
+
+    public <T> Flux<T> time(String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            Sample sample = start(operation);
+            return call.doOnComplete(() -> sample.stop(null))
+                    .doOnError(sample::stop)
+                    .doOnCancel(sample::cancelled);
+        });
+    }
+
+    public void recordError(HttpStatusCode status) {
+        Counter.builder(ERROR_COUNTER)
+                .description("Non-2xx responses from the employee server")
+                .tags("cause", cause(status), "status", String.valueOf(status.value()))
+                .register(registry)
+                .increment();
+    }
+
+    @EventListener
+    public void onRetryEvent(RetryEvent event) {
+        Counter.builder(RETRY_COUNTER)
+                .description("Retries scheduled and abandoned by ReactiveRetry")
+                .tags("operation", event.operation(), "type", event.type().name().toLowerCase(Locale.ROOT))
+                .register(registry)
+                .increment();
+    }
+
+    private Sample start(String operation) {
+        AtomicInteger gauge = inFlight.computeIfAbsent(
+                operation, op -> registry.gauge(IN_FLIGHT_GAUGE, Tags.of("operation", op), new AtomicInteger()));
+        gauge.incrementAndGet();
+        return new Sample(operation, gauge, Timer.start(registry));
+    }
+
+    static String outcome(Throwable failure) {
+        if (failure == null) {
+            return "success";
+        }
+        if (failure instanceof QuotaExhaustedException) {
+            return "quota_exhausted";
+        }
+        if (failure instanceof ApiException apiException && apiException.getStatus() != null) {
+            return cause(apiException.getStatus());
+        }
+        if (failure instanceof WebClientRequestException) {
+            return "transport_error";
+        }
+        return "error";
+    }
+
+    static String cause(HttpStatusCode status) {
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return "rate_limited";
+        }
+        if (status.value() == HttpStatus.NOT_FOUND.value()) {
+            return "not_found";
+        }
+        if (status.is4xxClientError()) {
+            return "client_error";
+        }
+        return status.is5xxServerError() ? "server_error" : "other";
+    }
+
+    private final class Sample {
+
+        private final String operation;
+
+        private final AtomicInteger gauge;
+
+        private final Timer.Sample timer;
+
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        Sample(String operation, AtomicInteger gauge, Timer.Sample timer) {
+            this.operation = operation;
+            this.gauge = gauge;
+            this.timer = timer;
+        }
+
+        void stop(Throwable failure) {
+            record(outcome(failure));
+        }
+
+        void cancelled() {
+            record("cancelled");
+        }
+
+        /** Records the first outcome only; a cancel can still arrive after a Mono has succeeded. */
+        private void record(String outcome) {
+            if (!stopped.compareAndSet(false, true)) {
+                return;
+            }
+            gauge.decrementAndGet();
+            timer.stop(Timer.builder(OPERATION_TIMER)
+                    .description("Employee server operations, retries included")
+                    .tags("operation", operation, "outcome", outcome)
+                    .publishPercentiles(0.5, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.reliaquest.api.utils;
 
 import com.reliaquest.api.exception.ApiException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
@@ -10,32 +18,62 @@ import reactor.core.publisher.Mono;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class Utils {
 
+    private final UpstreamMetrics upstreamMetrics;
+
     public WebClient.ResponseSpec addExceptionHandling(WebClient.ResponseSpec retrieve) {
         return retrieve.onStatus((HttpStatusCode code) -> code.equals(HttpStatus.TOO_MANY_REQUESTS), resp -> {
                     log.warn("Received 429 Too Many Requests - creating ApiException for retry");
+                    upstreamMetrics.recordError(resp.statusCode());
+                    Duration retryAfter = parseRetryAfter(resp.headers().header(HttpHeaders.RETRY_AFTER));
                     return resp.bodyToMono(String.class)
                             .defaultIfEmpty("")
                             .flatMap(body -> Mono.error(new ApiException(
-                                    "Rate Limit Reached, try after some time", HttpStatus.TOO_MANY_REQUESTS)));
+                                    "Rate Limit Reached, try after some time",
+                                    HttpStatus.TOO_MANY_REQUESTS,
+                                    retryAfter)));
                 })
                 .onStatus((HttpStatusCode code) -> code.equals(HttpStatus.NOT_FOUND), resp -> {
                     log.warn("Received 404 client error - creating ApiException");
+                    upstreamMetrics.recordError(resp.statusCode());
                     return resp.bodyToMono(String.class)
                             .map(body -> new ApiException("Entity Not Found", HttpStatus.NOT_FOUND));
                 })
                 .onStatus(HttpStatusCode::is4xxClientError, resp -> {
                     log.warn("Received 4xx client error - creating ApiException");
+                    upstreamMetrics.recordError(resp.statusCode());
                     return resp.bodyToMono(String.class)
                             .map(body -> new ApiException(
                                     "Bad Request encountered from Server" + body, HttpStatus.BAD_REQUEST));
                 })
                 .onStatus(HttpStatusCode::is5xxServerError, resp -> {
                     log.warn("Received 5xx server error - creating ApiException");
+                    upstreamMetrics.recordError(resp.statusCode());
                     return resp.bodyToMono(String.class)
                             .map(body -> new ApiException(
                                     "Internal Server Error: " + body, HttpStatus.INTERNAL_SERVER_ERROR));
                 });
     }
+
+    /** Reads a {@code Retry-After} header in either delay-seconds or HTTP-date form; {@code null} if absent or bad. */
+    static Duration parseRetryAfter(List<String> values) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        String value = values.get(0).trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration until = Duration.between(Instant.now(), at.toInstant());
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException notDate) {
+                log.warn("Ignoring unparseable Retry-After header: {}", value);
+                return null;
+            }
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    @Test
+    void shouldMatchSubstringsCaseInsensitivelyInRosterOrder() {
+        // Given
+        NameIndex index = NameIndex.of(List.of(
+                createEmployee("John Doe"), createEmployee("Jane Smith"), createEmployee("Johnny Walker")));
+
+        // Then
+        assertEquals(List.of("John Doe", "Johnny Walker"), names(index.search("john")));
+        assertEquals(List.of("Johnny Walker"), names(index.search("NNY WAL")));
+        assertEquals(List.of("Jane Smith"), names(index.search("mi")));
+        assertTrue(index.search("nobody").isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreAccentsAndCompatibilityForms() {
+        // Given
+        NameIndex index = NameIndex.of(List.of(createEmployee("José Álvarez"), createEmployee("Ｍａｒｉａ")));
+
+        // Then
+        assertEquals(List.of("José Álvarez"), names(index.search("jose alv")));
+        assertEquals(List.of("José Álvarez"), names(index.search("JOSÉ")));
+        assertEquals(List.of("Ｍａｒｉａ"), names(index.search("maria")));
+    }
+
+    @Test
+    void shouldReflectAddsAndRemovesLeavingEarlierVersionsAlone() {
+        // Given
+        NameIndex before = NameIndex.of(List.of(createEmployee("John Doe"), createEmployee("Jane Smith")));
+
+        // When
+        NameIndex after = before.with(2, createEmployee("Johnathan Price")).without(0);
+
+        // Then
+        assertEquals(List.of("Johnathan Price"), names(after.search("john")));
+        assertEquals(List.of("Johnathan Price"), names(after.search("jo")));
+        assertSame(after, after.without(0));
+        assertEquals(2, after.size());
+        assertEquals(List.of("John Doe"), names(before.search("john")));
+    }
+
+    @Test
+    void shouldMergeBaseAndRecentAdditionsInKeyOrder() {
+        // Given
+        NameIndex index = NameIndex.of(List.of(createEmployee("Ann One"), createEmployee("Ann Two")));
+
+        // When
+        index = index.with(5, createEmployee("Ann Five")).with(3, createEmployee("Ann Three"));
+
+        // Then
+        assertEquals(List.of("Ann One", "Ann Two", "Ann Three", "Ann Five"), names(index.search("ann")));
+        assertEquals(List.of("Ann One", "Ann Two", "Ann Three", "Ann Five"), names(index.search("an")));
+        assertEquals(List.of("Ann Three"), names(index.search("three")));
+    }
+
+    @Test
+    void shouldReuseSpaceAndKeepRosterOrderUnderChurn() {
+        // Given
+        List<EmployeeDTO> roster = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            roster.add(createEmployee("Employee " + i));
+        }
+        NameIndex index = NameIndex.of(roster);
+
+        // When
+        for (int i = 100; i < 10_100; i++) {
+            EmployeeDTO hired = createEmployee("Employee " + i);
+            index = index.with(i, hired);
+            roster.add(hired);
+            roster.remove(0);
+            NameIndex shrunk = index.without(i - 100);
+            assertNotSame(index, shrunk);
+            index = shrunk;
+        }
+
+        // Then
+        assertTrue(index.capacity() <= 512, "capacity " + index.capacity());
+        assertEquals(100, index.size());
+        assertEquals(names(roster), names(index.search("em")));
+        assertEquals(names(roster), names(index.search("employee")));
+        assertEquals(List.of("Employee 10099"), names(index.search("10099")));
+        assertTrue(index.search("Employee 9").isEmpty());
+        assertSame(index, index.without(0));
+    }
+
+    @Test
+    void shouldReturnEveryoneForEmptyFragment() {
+        NameIndex index = NameIndex.of(List.of(createEmployee("John Doe"), createEmployee("Jane Smith")));
+
+        assertEquals(2, index.search("").size());
+    }
+
+    private List<String> names(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getName).toList();
+    }
+
+    private EmployeeDTO createEmployee(String name) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(UUID.randomUUID());
+        employee.setName(name);
+        return employee;
+    }
+}
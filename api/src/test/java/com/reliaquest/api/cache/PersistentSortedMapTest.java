@@ -0,0 +1,38 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class PersistentSortedMapTest {
+
+    @Test
+    void shouldBuildBalancedMapFromSortedKeys() {
+        // Given
+        List<Integer> keys = IntStream.range(0, 1_000).boxed().toList();
+        List<String> values = keys.stream().map(key -> "v" + key).toList();
+
+        // When
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.fromSorted(keys, values);
+
+        // Then
+        assertEquals(values, map.values());
+        assertEquals(10, map.height());
+        assertEquals("v500", map.get(500));
+        assertEquals(501, map.countAtMost(500));
+        assertEquals(List.of("v0", "v2"), map.remove(1).put(1_000, "x").values().subList(0, 2));
+        assertEquals(values, map.values());
+    }
+
+    @Test
+    void shouldRejectUnsortedOrMismatchedInput() {
+        assertThrows(
+                IllegalArgumentException.class, () -> PersistentSortedMap.fromSorted(List.of(2, 1), List.of("a", "b")));
+        assertThrows(
+                IllegalArgumentException.class, () -> PersistentSortedMap.fromSorted(List.of(1, 1), List.of("a", "b")));
+        assertThrows(IllegalArgumentException.class, () -> PersistentSortedMap.fromSorted(List.of(1), List.of()));
+        assertTrue(PersistentSortedMap.fromSorted(List.<Integer>of(), List.of()).isEmpty());
+    }
+}
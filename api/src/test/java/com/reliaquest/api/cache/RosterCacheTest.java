@@ -0,0 +1,512 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.EmployeeServerClient;
+import com.reliaquest.api.client.RosterProjection;
+import com.reliaquest.api.client.RosterVersion;
+import com.reliaquest.api.client.Versioned;
+import com.reliaquest.api.dto.ChangeFeedDTO;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.RosterEventDTO;
+import com.reliaquest.api.exception.ApiException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+class RosterCacheTest {
+
+    @Mock
+    private EmployeeServerClient employeeServerClient;
+
+    private RosterCache rosterCache;
+
+    @BeforeEach
+    void setUp() {
+        rosterCache = new RosterCache(employeeServerClient);
+        ReflectionTestUtils.setField(rosterCache, "enabled", true);
+        ReflectionTestUtils.setField(rosterCache, "ttlMillis", 60_000L);
+        ReflectionTestUtils.setField(rosterCache, "refreshAheadMillis", 10_000L);
+        ReflectionTestUtils.setField(rosterCache, "jitterMillis", 0L);
+        ReflectionTestUtils.setField(rosterCache, "refreshRetryMillis", 60_000L);
+        ReflectionTestUtils.setField(rosterCache, "maxStaleMillis", 60_000L);
+    }
+
+    @Test
+    void shouldFetchOncePerRefreshWindow() {
+        // Given
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(fetched(createEmployee("John Doe", 50000))));
+
+        // When
+        RosterSnapshot first = rosterCache.snapshot().block();
+        RosterSnapshot second = rosterCache.snapshot().block();
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, first.employees().size());
+        verify(employeeServerClient, times(1)).getAllEmployees(any());
+    }
+
+    @Test
+    void shouldRefreshAheadInBackgroundWhileServingCurrentSnapshot() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "refreshAheadMillis", 60_000L);
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(fetched(createEmployee("John Doe", 50000))))
+                .thenReturn(Mono.just(fetched(createEmployee("John Doe", 50000), createEmployee("Jane Smith", 60000))));
+
+        // When
+        RosterSnapshot first = rosterCache.snapshot().block();
+        RosterSnapshot servedDuringRefresh = rosterCache.snapshot().block();
+
+        // Then
+        assertSame(first, servedDuringRefresh);
+        verify(employeeServerClient, timeout(1000).times(2)).getAllEmployees(any());
+    }
+
+    @Test
+    void shouldBumpVersionOnWriteThrough() {
+        // Given
+        EmployeeDTO existing = createEmployee("John Doe", 50000);
+        EmployeeDTO created = createEmployee("Jane Smith", 60000);
+        when(employeeServerClient.getAllEmployees(any())).thenReturn(Mono.just(fetched(existing)));
+        long loadedVersion = rosterCache.snapshot().block().version();
+
+        // When
+        rosterCache.applyCreated(created);
+        RosterSnapshot afterCreate = rosterCache.snapshot().block();
+        rosterCache.applyDeleted(existing);
+        RosterSnapshot afterDelete = rosterCache.snapshot().block();
+
+        // Then
+        assertEquals(loadedVersion + 1, afterCreate.version());
+        assertEquals(2, afterCreate.employees().size());
+        assertEquals(loadedVersion + 2, afterDelete.version());
+        assertEquals(List.of(created), afterDelete.employees());
+        assertEquals(List.of(existing, created), afterCreate.employees());
+        assertEquals(60000, rosterCache.salaryIndex().block().highestSalary());
+        assertEquals(List.of(created), rosterCache.nameIndex().block().search("jane"));
+        verify(employeeServerClient, times(1)).getAllEmployees(any());
+    }
+
+    @Test
+    void shouldKeepIndexesOfSnapshotReadBeforeWriteThrough() {
+        // Given
+        EmployeeDTO existing = createEmployee("John Doe", 50000);
+        when(employeeServerClient.getAllEmployees(any())).thenReturn(Mono.just(fetched(existing)));
+        RosterSnapshot before = rosterCache.snapshot().block();
+
+        // When
+        rosterCache.applyCreated(createEmployee("Johnny Cash", 90000));
+        rosterCache.applyDeleted(existing);
+
+        // Then
+        assertEquals(50000, before.roster().salaryIndex().highestSalary());
+        assertEquals(List.of(existing), before.roster().nameIndex().search("john"));
+        assertEquals(90000, rosterCache.salaryIndex().block().highestSalary());
+        assertEquals(
+                List.of("Johnny Cash"),
+                rosterCache.nameIndex().block().search("john").stream()
+                        .map(EmployeeDTO::getName)
+                        .toList());
+    }
+
+    @Test
+    void shouldRemoveOldestNamesakeOnDeleteByName() {
+        // Given
+        EmployeeDTO older = createEmployee("John Doe", 90000);
+        EmployeeDTO other = createEmployee("Jane Smith", 60000);
+        EmployeeDTO newer = createEmployee("JOHN DOE", 50000);
+        when(employeeServerClient.getAllEmployees(any())).thenReturn(Mono.just(fetched(older, other, newer)));
+        rosterCache.snapshot().block();
+
+        // When
+        Optional<EmployeeDTO> removed = rosterCache.applyDeletedByName("john doe");
+
+        // Then
+        assertEquals(Optional.of(older), removed);
+        assertEquals(List.of(other, newer), rosterCache.snapshot().block().employees());
+        assertEquals(List.of(newer), rosterCache.nameIndex().block().search("john"));
+        assertEquals(60000, rosterCache.salaryIndex().block().highestSalary());
+        assertTrue(rosterCache.applyDeletedByName("Nobody").isEmpty());
+    }
+
+    @Test
+    void shouldRemoveNamesakeOldestOnServerAfterDeltaSyncReordersRoster() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "deltaSync", true);
+        ReflectionTestUtils.setField(rosterCache, "ttlMillis", 0L);
+        ReflectionTestUtils.setField(rosterCache, "refreshAheadMillis", 0L);
+        EmployeeDTO existing = createEmployee("Jane Smith", 60000);
+        EmployeeDTO ours = createEmployee("John Doe", 50000);
+        EmployeeDTO theirs = createEmployee("john doe", 70000);
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(new Versioned<>(List.of(existing), null, new RosterVersion("e", 4))));
+        // Another instance created its namesake first, so the server holds it as the older one.
+        when(employeeServerClient.getChanges(new RosterVersion("e", 4)))
+                .thenReturn(Mono.just(feed(
+                        6,
+                        false,
+                        change(5, ChangeFeedDTO.Type.CREATED, theirs),
+                        change(6, ChangeFeedDTO.Type.CREATED, ours))));
+        when(employeeServerClient.getChanges(new RosterVersion("e", 6))).thenReturn(Mono.just(feed(6, false)));
+        rosterCache.snapshot().block();
+        rosterCache.applyCreated(ours);
+        RosterSnapshot synced = rosterCache.snapshot().block();
+
+        // When
+        Optional<EmployeeDTO> removed = rosterCache.applyDeletedByName("John Doe");
+
+        // Then
+        assertEquals(List.of(existing, theirs, ours), synced.employees());
+        assertEquals(Optional.of(theirs), removed);
+        assertEquals(List.of(ours), rosterCache.nameIndex().block().search("john"));
+    }
+
+    @Test
+    void shouldNotDuplicateEmployeeWrittenThroughTwice() {
+        // Given
+        EmployeeDTO existing = createEmployee("John Doe", 50000);
+        when(employeeServerClient.getAllEmployees(any())).thenReturn(Mono.just(fetched(existing)));
+        RosterSnapshot loaded = rosterCache.snapshot().block();
+
+        // When
+        rosterCache.applyCreated(existing);
+        rosterCache.applyDeleted(createEmployee("Nobody", 1));
+
+        // Then
+        assertSame(loaded, rosterCache.snapshot().block());
+    }
+
+    @Test
+    void shouldPropagateFailureOnColdLoad() {
+        // Given
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.error(new ApiException("Rate Limit Reached", HttpStatus.TOO_MANY_REQUESTS)));
+
+        // When & Then
+        ApiException exception =
+                assertThrows(ApiException.class, () -> rosterCache.snapshot().block());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+    }
+
+    @Test
+    void shouldServeStaleRosterWhenReloadIsRateLimited() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "ttlMillis", 0L);
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(fetched(createEmployee("John Doe", 50000))))
+                .thenReturn(Mono.error(new ApiException("Rate Limit Reached", HttpStatus.TOO_MANY_REQUESTS)));
+        RosterSnapshot loaded = rosterCache.snapshot().block();
+
+        // When
+        RosterSnapshot servedOnError = rosterCache.snapshot().block();
+        RosterSnapshot servedDuringBackOff = rosterCache.snapshot().block();
+
+        // Then
+        assertSame(loaded, servedOnError);
+        assertSame(loaded, servedDuringBackOff);
+        verify(employeeServerClient, times(2)).getAllEmployees(any());
+    }
+
+    @Test
+    void shouldPropagateFailureWhenStaleServingIsDisabled() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "ttlMillis", 0L);
+        ReflectionTestUtils.setField(rosterCache, "maxStaleMillis", 0L);
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(fetched(createEmployee("John Doe", 50000))))
+                .thenReturn(Mono.error(new ApiException("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR)));
+        rosterCache.snapshot().block();
+
+        // When & Then
+        ApiException exception = assertThrows(ApiException.class, () -> rosterCache.snapshot().block());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatus());
+    }
+
+    @Test
+    void shouldStreamProjectedAggregatesWhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "enabled", false);
+        when(employeeServerClient.getHighestSalary()).thenReturn(Mono.empty());
+        when(employeeServerClient.getTopEarners(2)).thenReturn(Mono.empty());
+        when(employeeServerClient.streamAllEmployees(RosterProjection.SALARY))
+                .thenReturn(Flux.just(createEmployee(null, 50000), createEmployee(null, 90000)));
+        when(employeeServerClient.streamAllEmployees(RosterProjection.NAME_AND_SALARY))
+                .thenReturn(Flux.just(
+                        createEmployee("Alice", 50000),
+                        createEmployee("Bob", 90000),
+                        createEmployee("Charlie", 70000)));
+
+        // When & Then
+        assertEquals(90000, rosterCache.highestSalary().block());
+        assertEquals(List.of("Bob", "Charlie"), rosterCache.topEarnerNames(2).collectList().block());
+        verify(employeeServerClient, never()).getAllEmployees();
+    }
+
+    @Test
+    void shouldAskServerForAggregatesUntilRosterIsCached() {
+        // Given
+        Sinks.One<Integer> highestSalary = Sinks.one();
+        when(employeeServerClient.getHighestSalary()).thenReturn(highestSalary.asMono());
+        when(employeeServerClient.getTopEarners(1)).thenReturn(Mono.just(List.of(createEmployee("Bob", 90000))));
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(fetched(createEmployee("Alice", 50000), createEmployee("Carol", 70000))));
+
+        // When
+        // Two callers arrive while the server is still answering.
+        CompletableFuture<Integer> first = rosterCache.highestSalary().toFuture();
+        CompletableFuture<Integer> second = rosterCache.highestSalary().toFuture();
+        highestSalary.tryEmitValue(90000);
+
+        // Then
+        // They share one call, and later callers get the kept answer.
+        assertEquals(90000, first.join());
+        assertEquals(90000, second.join());
+        assertEquals(90000, rosterCache.highestSalary().block());
+        assertEquals(List.of("Bob"), rosterCache.topEarnerNames(1).collectList().block());
+        assertEquals(List.of("Bob"), rosterCache.topEarnerNames(1).collectList().block());
+        verify(employeeServerClient, times(1)).getHighestSalary();
+        verify(employeeServerClient, times(1)).getTopEarners(1);
+        verify(employeeServerClient, never()).getAllEmployees(any());
+
+        rosterCache.snapshot().block();
+        assertEquals(70000, rosterCache.highestSalary().block());
+        assertEquals(List.of("Carol"), rosterCache.topEarnerNames(1).collectList().block());
+        verify(employeeServerClient, times(1)).getHighestSalary();
+        verify(employeeServerClient, times(1)).getTopEarners(1);
+    }
+
+    @Test
+    void shouldKeepRosterAndIndexesWhenRevalidationIsNotModified() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "ttlMillis", 0L);
+        ReflectionTestUtils.setField(rosterCache, "refreshAheadMillis", 0L);
+        when(employeeServerClient.getAllEmployees(null))
+                .thenReturn(Mono.just(new Versioned<>(List.of(createEmployee("John Doe", 50000)), "\"1\"")));
+        when(employeeServerClient.getAllEmployees("\"1\"")).thenReturn(Mono.empty());
+        RosterSnapshot loaded = rosterCache.snapshot().block();
+        SalaryIndex index = rosterCache.salaryIndex().block();
+
+        // When
+        RosterSnapshot revalidated = rosterCache.snapshot().block();
+
+        // Then
+        assertEquals(loaded.version(), revalidated.version());
+        assertEquals(loaded.employees(), revalidated.employees());
+        assertTrue(revalidated.fetchedAtMillis() >= loaded.fetchedAtMillis());
+        assertSame(index, rosterCache.salaryIndex().block());
+        verify(employeeServerClient, atLeastOnce()).getAllEmployees("\"1\"");
+    }
+
+    @Test
+    void shouldApplyChangeFeedToRosterAndIndexes() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "deltaSync", true);
+        ReflectionTestUtils.setField(rosterCache, "ttlMillis", 0L);
+        ReflectionTestUtils.setField(rosterCache, "refreshAheadMillis", 0L);
+        EmployeeDTO alice = createEmployee("Alice", 50000);
+        EmployeeDTO bob = createEmployee("Bob", 60000);
+        EmployeeDTO carol = createEmployee("Carol", 70000);
+        EmployeeDTO dave = createEmployee("Dave", 90000);
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(new Versioned<>(List.of(alice, bob), null, new RosterVersion("e", 5))));
+        when(employeeServerClient.getChanges(new RosterVersion("e", 5)))
+                .thenReturn(Mono.just(feed(7, true, change(6, ChangeFeedDTO.Type.CREATED, carol))));
+        when(employeeServerClient.getChanges(new RosterVersion("e", 7)))
+                .thenReturn(Mono.just(feed(
+                        9,
+                        false,
+                        change(8, ChangeFeedDTO.Type.DELETED, alice),
+                        change(9, ChangeFeedDTO.Type.CREATED, dave))));
+        // Every read expires at once, so the reads after the sync find the feed caught up.
+        when(employeeServerClient.getChanges(new RosterVersion("e", 9))).thenReturn(Mono.just(feed(9, false)));
+        rosterCache.snapshot().block();
+        // Written through by this instance, then reported again by the feed.
+        rosterCache.applyCreated(carol);
+
+        // When
+        RosterSnapshot synced = rosterCache.snapshot().block();
+
+        // Then
+        assertEquals(List.of("Bob", "Carol", "Dave"), synced.employees().stream().map(EmployeeDTO::getName).toList());
+        assertEquals(new RosterVersion("e", 9), synced.upstreamVersion());
+        assertEquals(90000, rosterCache.highestSalary().block());
+        assertEquals(3, rosterCache.salaryIndex().block().size());
+        assertTrue(rosterCache.nameIndex().block().search("alice").isEmpty());
+        verify(employeeServerClient, times(1)).getAllEmployees(any());
+    }
+
+    @Test
+    void shouldAskServerAgainAfterWriteThrough() {
+        // Given
+        when(employeeServerClient.getHighestSalary()).thenReturn(Mono.just(90000), Mono.just(95000));
+        assertEquals(90000, rosterCache.highestSalary().block());
+
+        // When
+        rosterCache.applyCreated(createEmployee("Dave", 95000));
+
+        // Then
+        assertEquals(95000, rosterCache.highestSalary().block());
+        verify(employeeServerClient, times(2)).getHighestSalary();
+    }
+
+    @Test
+    void shouldDropWrittenThroughEmployeeCreatedAndDeletedWithinOneFeed() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "deltaSync", true);
+        ReflectionTestUtils.setField(rosterCache, "ttlMillis", 0L);
+        ReflectionTestUtils.setField(rosterCache, "refreshAheadMillis", 0L);
+        EmployeeDTO alice = createEmployee("Alice", 50000);
+        EmployeeDTO carol = createEmployee("Carol", 70000);
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(new Versioned<>(List.of(alice), null, new RosterVersion("e", 5))));
+        when(employeeServerClient.getChanges(new RosterVersion("e", 5)))
+                .thenReturn(Mono.just(feed(
+                        7,
+                        false,
+                        change(6, ChangeFeedDTO.Type.CREATED, carol),
+                        change(7, ChangeFeedDTO.Type.DELETED, carol))));
+        when(employeeServerClient.getChanges(new RosterVersion("e", 7))).thenReturn(Mono.just(feed(7, false)));
+        rosterCache.snapshot().block();
+        rosterCache.applyCreated(carol);
+
+        // When
+        RosterSnapshot synced = rosterCache.snapshot().block();
+
+        // Then
+        assertEquals(List.of(alice), synced.employees());
+        assertEquals(50000, rosterCache.highestSalary().block());
+        assertTrue(rosterCache.nameIndex().block().search("carol").isEmpty());
+    }
+
+    @Test
+    void shouldReadRosterWhenChangeFeedAsksForResync() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "deltaSync", true);
+        ReflectionTestUtils.setField(rosterCache, "ttlMillis", 0L);
+        ReflectionTestUtils.setField(rosterCache, "refreshAheadMillis", 0L);
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(
+                        new Versioned<>(List.of(createEmployee("Alice", 50000)), null, new RosterVersion("e", 5))));
+        ChangeFeedDTO resync = feed(0, false);
+        resync.setResync(true);
+        when(employeeServerClient.getChanges(new RosterVersion("e", 5))).thenReturn(Mono.just(resync));
+        rosterCache.snapshot().block();
+
+        // When
+        rosterCache.snapshot().block();
+
+        // Then
+        verify(employeeServerClient, times(2)).getAllEmployees(any());
+    }
+
+    @Test
+    void shouldApplyPushedEventsThatContinueTheRoster() {
+        // Given
+        EmployeeDTO alice = createEmployee("Alice", 50000);
+        EmployeeDTO bob = createEmployee("Bob", 60000);
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(new Versioned<>(List.of(alice), null, new RosterVersion("e", 5))));
+        rosterCache.snapshot().block();
+
+        // When
+        rosterCache.applyEvents(List.of(
+                event(6, change(6, ChangeFeedDTO.Type.CREATED, bob)),
+                event(6, null),
+                event(6, change(6, ChangeFeedDTO.Type.CREATED, bob))));
+
+        // Then
+        RosterSnapshot current = rosterCache.snapshot().block();
+        assertEquals(List.of(alice, bob), current.employees());
+        assertEquals(new RosterVersion("e", 6), current.upstreamVersion());
+        assertEquals(60000, rosterCache.highestSalary().block());
+        verify(employeeServerClient, times(1)).getAllEmployees(any());
+        verify(employeeServerClient, never()).getChanges(any());
+    }
+
+    @Test
+    void shouldCatchUpFromChangeFeedWhenPushedEventsSkipAVersion() {
+        // Given
+        ReflectionTestUtils.setField(rosterCache, "deltaSync", true);
+        ReflectionTestUtils.setField(rosterCache, "ttlMillis", 0L);
+        ReflectionTestUtils.setField(rosterCache, "refreshAheadMillis", 0L);
+        EmployeeDTO alice = createEmployee("Alice", 50000);
+        EmployeeDTO bob = createEmployee("Bob", 60000);
+        EmployeeDTO carol = createEmployee("Carol", 70000);
+        when(employeeServerClient.getAllEmployees(any()))
+                .thenReturn(Mono.just(new Versioned<>(List.of(alice), null, new RosterVersion("e", 5))));
+        when(employeeServerClient.getChanges(new RosterVersion("e", 5)))
+                .thenReturn(Mono.just(feed(
+                        7,
+                        false,
+                        change(6, ChangeFeedDTO.Type.CREATED, bob),
+                        change(7, ChangeFeedDTO.Type.CREATED, carol))));
+        // Read if the catch-up has finished by the time the roster is next read, and expired again.
+        lenient()
+                .when(employeeServerClient.getChanges(new RosterVersion("e", 7)))
+                .thenReturn(Mono.just(feed(7, false)));
+        rosterCache.snapshot().block();
+
+        // When
+        rosterCache.applyEvents(List.of(event(7, change(7, ChangeFeedDTO.Type.CREATED, carol))));
+
+        // Then
+        RosterSnapshot current = rosterCache.snapshot().block();
+        assertEquals(List.of(alice, bob, carol), current.employees());
+        assertEquals(new RosterVersion("e", 7), current.upstreamVersion());
+        verify(employeeServerClient, times(1)).getChanges(new RosterVersion("e", 5));
+    }
+
+    private static RosterEventDTO event(long version, ChangeFeedDTO.Change change) {
+        RosterEventDTO event = new RosterEventDTO();
+        event.setEpoch("e");
+        event.setVersion(version);
+        event.setChange(change);
+        return event;
+    }
+
+    private static ChangeFeedDTO feed(long version, boolean more, ChangeFeedDTO.Change... changes) {
+        ChangeFeedDTO feed = new ChangeFeedDTO();
+        feed.setEpoch("e");
+        feed.setVersion(version);
+        feed.setMore(more);
+        feed.setChanges(List.of(changes));
+        return feed;
+    }
+
+    private static ChangeFeedDTO.Change change(long version, ChangeFeedDTO.Type type, EmployeeDTO employee) {
+        ChangeFeedDTO.Change change = new ChangeFeedDTO.Change();
+        change.setVersion(version);
+        change.setType(type);
+        change.setEmployee(employee);
+        return change;
+    }
+
+    private static Versioned<List<EmployeeDTO>> fetched(EmployeeDTO... employees) {
+        return new Versioned<>(List.of(employees), null);
+    }
+
+    private EmployeeDTO createEmployee(String name, Integer salary) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(UUID.randomUUID());
+        employee.setName(name);
+        employee.setSalary(salary);
+        return employee;
+    }
+}
@@ -0,0 +1,164 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class RosterTest {
+
+    @Test
+    void shouldAppendAndRemoveWithoutChangingEarlierVersions() {
+        // Given
+        EmployeeDTO alice = createEmployee("Alice");
+        EmployeeDTO bob = createEmployee("Bob");
+        Roster before = Roster.of(List.of(alice, bob));
+
+        // When
+        EmployeeDTO carol = createEmployee("Carol");
+        Roster after = before.with(carol).without(alice.getId());
+
+        // Then
+        assertEquals(List.of(alice, bob), before.employees());
+        assertEquals(List.of(bob, carol), after.employees());
+        assertSame(alice, before.get(alice.getId()));
+        assertNull(after.get(alice.getId()));
+        assertSame(carol, after.get(carol.getId()));
+        assertEquals(2, after.size());
+    }
+
+    @Test
+    void shouldIgnoreKnownIdsAndUnknownRemovals() {
+        // Given
+        EmployeeDTO alice = createEmployee("Alice");
+        Roster roster = Roster.of(List.of(alice));
+
+        // Then
+        assertSame(roster, roster.with(alice));
+        assertSame(roster, roster.without(UUID.randomUUID()));
+        assertSame(roster, roster.without(null));
+        assertFalse(roster.contains(null));
+    }
+
+    @Test
+    void shouldPlaceWrittenThroughEmployeeInCreationOrderOnceReported() {
+        // Given
+        EmployeeDTO alice = createEmployee("Alice");
+        EmployeeDTO ours = createEmployee("Bob");
+        EmployeeDTO theirs = createEmployee("Bob");
+        Roster written = Roster.of(List.of(alice)).with(ours);
+        written.nameIndex();
+
+        // When
+        Roster reported = written.withCreated(theirs, 7).withCreated(ours, 8);
+
+        // Then
+        assertEquals(List.of(alice, ours), written.employees());
+        assertEquals(List.of(alice, theirs, ours), reported.employees());
+        assertSame(theirs, reported.oldestNamed("BOB"));
+        assertEquals(List.of(theirs, ours), reported.nameIndex().search("bob"));
+        assertSame(reported, reported.withCreated(ours, 8));
+        assertNull(reported.oldestNamed("Bo"));
+    }
+
+    @Test
+    void shouldMatchListUnderRandomChurn() {
+        // Given
+        Random random = new Random(7);
+        List<EmployeeDTO> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expected.add(createEmployee("Employee " + i));
+        }
+        Roster roster = Roster.of(expected);
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            if (!expected.isEmpty() && random.nextBoolean()) {
+                EmployeeDTO gone = expected.remove(random.nextInt(expected.size()));
+                roster = roster.without(gone.getId());
+            } else {
+                EmployeeDTO hired = createEmployee("Hire " + i);
+                expected.add(hired);
+                roster = roster.with(hired);
+            }
+        }
+
+        // Then
+        Roster churned = roster;
+        assertEquals(expected, churned.employees());
+        assertEquals(expected.size(), churned.size());
+        expected.forEach(employee -> assertTrue(churned.contains(employee.getId())));
+    }
+
+    @Test
+    void shouldCarryIndexesOfExactlyItsOwnEmployees() {
+        // Given
+        EmployeeDTO alice = createEmployee("Alice", 50000);
+        Roster before = Roster.of(List.of(alice, createEmployee("Bob", 40000)));
+        before.salaryIndex();
+        before.nameIndex();
+
+        // When
+        Roster after = before.with(createEmployee("Alicia", 90000)).without(alice.getId());
+
+        // Then
+        assertEquals(50000, before.salaryIndex().highestSalary());
+        assertEquals(List.of("Alice"), names(before.nameIndex().search("ali")));
+        assertEquals(90000, after.salaryIndex().highestSalary());
+        assertEquals(List.of("Alicia", "Bob"), after.salaryIndex().topEarnerNames(10));
+        assertEquals(List.of("Alicia"), names(after.nameIndex().search("ali")));
+    }
+
+    @Test
+    void shouldCarryIndexesThroughChurnAsIfBuiltFresh() {
+        // Given
+        Random random = new Random(3);
+        List<EmployeeDTO> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            expected.add(createEmployee("Employee " + i, random.nextInt(50) * 1000));
+        }
+        Roster roster = Roster.of(expected);
+        roster.salaryIndex();
+        roster.nameIndex();
+
+        // When
+        for (int i = 0; i < 3_000; i++) {
+            if (!expected.isEmpty() && random.nextBoolean()) {
+                roster = roster.without(expected.remove(random.nextInt(expected.size())).getId());
+            } else {
+                EmployeeDTO hired = createEmployee("Hire " + i, random.nextInt(50) * 1000);
+                expected.add(hired);
+                roster = roster.with(hired);
+            }
+        }
+
+        // Then
+        SalaryIndex salaries = SalaryIndex.of(expected);
+        NameIndex names = NameIndex.of(expected);
+        assertEquals(salaries.topEarners(expected.size()), roster.salaryIndex().topEarners(expected.size()));
+        for (String fragment : List.of("e", "employee 1", "hire", "hire 29", "re 1")) {
+            assertEquals(names.search(fragment), roster.nameIndex().search(fragment), fragment);
+        }
+    }
+
+    private List<String> names(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getName).toList();
+    }
+
+    private EmployeeDTO createEmployee(String name, int salary) {
+        EmployeeDTO employee = createEmployee(name);
+        employee.setSalary(salary);
+        return employee;
+    }
+
+    private EmployeeDTO createEmployee(String name) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(UUID.randomUUID());
+        employee.setName(name);
+        return employee;
+    }
+}
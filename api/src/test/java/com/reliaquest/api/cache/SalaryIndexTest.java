@@ -0,0 +1,126 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class SalaryIndexTest {
+
+    @Test
+    void shouldOrderBySalaryDescendingKeepingTiesInInsertionOrder() {
+        // Given
+        SalaryIndex index = SalaryIndex.of(List.of(
+                createEmployee("Alice", 50000),
+                createEmployee("Bob", 90000),
+                createEmployee("Charlie", 50000),
+                createEmployee("David", 70000)));
+
+        // Then
+        assertEquals(90000, index.highestSalary());
+        assertEquals(List.of("Bob", "David", "Alice", "Charlie"), index.topEarnerNames(10));
+        assertEquals(List.of("Bob", "David"), index.topEarnerNames(2));
+    }
+
+    @Test
+    void shouldMaintainOrderOnAddAndRemoveLeavingEarlierVersionsAlone() {
+        // Given
+        EmployeeDTO alice = createEmployee("Alice", 50000);
+        EmployeeDTO bob = createEmployee("Bob", 90000);
+        SalaryIndex before = SalaryIndex.of(List.of(alice, bob));
+
+        // When
+        EmployeeDTO eve = createEmployee("Eve", 120000);
+        SalaryIndex grown = before.with(2, eve).with(3, createEmployee("Frank", 50000));
+
+        // Then
+        assertEquals(120000, grown.highestSalary());
+        assertEquals(List.of("Eve", "Bob", "Alice", "Frank"), grown.topEarnerNames(10));
+
+        // When
+        SalaryIndex shrunk = grown.without(2, eve).without(0, alice);
+
+        // Then
+        assertSame(shrunk, shrunk.without(0, alice));
+        assertEquals(90000, shrunk.highestSalary());
+        assertEquals(List.of("Bob", "Frank"), shrunk.topEarnerNames(10));
+        assertEquals(2, shrunk.size());
+        assertEquals(List.of("Bob", "Alice"), before.topEarnerNames(10));
+    }
+
+    @Test
+    void shouldMatchFullSortAfterRandomUpdates() {
+        // Given
+        Random random = new Random(42);
+        List<EmployeeDTO> roster = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            roster.add(createEmployee("E" + i, 30000 + random.nextInt(1000)));
+        }
+        List<Long> keys = new ArrayList<>();
+        for (long key = 0; key < roster.size(); key++) {
+            keys.add(key);
+        }
+        SalaryIndex index = SalaryIndex.of(roster);
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            if (random.nextBoolean() && !roster.isEmpty()) {
+                int at = random.nextInt(roster.size());
+                index = index.without(keys.remove(at), roster.remove(at));
+            } else {
+                EmployeeDTO employee = createEmployee("N" + i, 30000 + random.nextInt(1000));
+                roster.add(employee);
+                keys.add(200L + i);
+                index = index.with(200L + i, employee);
+            }
+        }
+
+        // Then
+        List<Integer> expected = roster.stream()
+                .map(EmployeeDTO::getSalary)
+                .sorted(Collections.reverseOrder())
+                .toList();
+        List<Integer> actual = index.topEarners(roster.size()).stream()
+                .map(EmployeeDTO::getSalary)
+                .toList();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldReturnZeroWhenEmpty() {
+        SalaryIndex index = SalaryIndex.of(Collections.emptyList());
+
+        assertEquals(0, index.highestSalary());
+        assertTrue(index.topEarnerNames(10).isEmpty());
+    }
+
+    @Test
+    void shouldRankStreamLikeIndexHoldingOnlyTopN() {
+        // Given
+        List<EmployeeDTO> roster = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            roster.add(createEmployee("Employee " + i, random.nextInt(20) * 1000));
+        }
+
+        // When
+        List<EmployeeDTO> streamed = SalaryIndex.topEarners(Flux.fromIterable(roster), 10).block();
+
+        // Then
+        assertEquals(SalaryIndex.of(roster).topEarners(10), streamed);
+    }
+
+    private EmployeeDTO createEmployee(String name, Integer salary) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(UUID.randomUUID());
+        employee.setName(name);
+        employee.setSalary(salary);
+        return employee;
+    }
+}
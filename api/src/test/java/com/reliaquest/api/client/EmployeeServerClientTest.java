@@ -0,0 +1,471 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.dto.ChangeFeedDTO;
+import com.reliaquest.api.dto.EmployeeCreateRequest;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.RosterEventDTO;
+import com.reliaquest.api.dto.api.response.ChangeFeedResponse;
+import com.reliaquest.api.dto.api.response.EmployeeResponse;
+import com.reliaquest.api.dto.api.response.GenericResponse;
+import com.reliaquest.api.dto.api.response.SalaryResponse;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.utils.Constants;
+import com.reliaquest.api.utils.CustomRetryListener;
+import com.reliaquest.api.utils.ReactiveRetry;
+import com.reliaquest.api.utils.UpstreamMetrics;
+import com.reliaquest.api.utils.Utils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeServerClientTest {
+
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private WebClient.RequestBodyUriSpec requestBodyUriSpec;
+
+    @Mock
+    private WebClient.RequestBodySpec requestBodySpec;
+
+    @Mock
+    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+
+    @Mock
+    private WebClient.ResponseSpec responseSpec;
+
+    @Mock
+    private Utils utils;
+
+    @Spy
+    private ReactiveRetry reactiveRetry = new ReactiveRetry(
+            new CustomRetryListener(event -> {}), new UpstreamMetrics(new SimpleMeterRegistry()), 3, 1, 2.0, 5, false);
+
+    @InjectMocks
+    private EmployeeServerClient employeeServerClient;
+
+    private EmployeeDTO testEmployee;
+    private EmployeeCreateRequest testCreateRequest;
+
+    @BeforeEach
+    void setUp() {
+        testEmployee = new EmployeeDTO();
+        testEmployee.setId(UUID.randomUUID());
+        testEmployee.setName("John Doe");
+        testEmployee.setSalary(50000);
+        testEmployee.setAge(30);
+        testEmployee.setTitle("Software Engineer");
+        testEmployee.setEmail("john.doe@example.com");
+
+        testCreateRequest = new EmployeeCreateRequest();
+        testCreateRequest.setName("Jane Smith");
+        testCreateRequest.setSalary(60000);
+        testCreateRequest.setAge(25);
+        testCreateRequest.setTitle("Senior Developer");
+    }
+
+    @Test
+    void shouldGetAllEmployees() {
+        // Given
+        String json = "{\"data\":[{\"id\":\"" + testEmployee.getId() + "\",\"employee_name\":\"John Doe\","
+                + "\"employee_salary\":50000,\"employee_age\":30}],\"status\":\"ok\"}";
+        DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        int half = bytes.length / 2;
+
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntityFlux(DataBuffer.class))
+                .thenReturn(Mono.just(ResponseEntity.ok(Flux.<DataBuffer>just(
+                        bufferFactory.wrap(Arrays.copyOfRange(bytes, 0, half)),
+                        bufferFactory.wrap(Arrays.copyOfRange(bytes, half, bytes.length))))));
+
+        // When
+        List<EmployeeDTO> result = employeeServerClient.getAllEmployees().block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("John Doe", result.get(0).getName());
+        assertEquals(50000, result.get(0).getSalary());
+    }
+
+    @Test
+    void shouldCompleteEmptyWhenRosterIsNotModified() {
+        // Given
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.header(HttpHeaders.IF_NONE_MATCH, "\"7\"")).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntityFlux(DataBuffer.class))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag("\"7\"")
+                        .body(Flux.<DataBuffer>empty())));
+
+        // When & Then
+        assertNull(employeeServerClient.getAllEmployees("\"7\"").block());
+        verify(requestBodySpec).header(HttpHeaders.IF_NONE_MATCH, "\"7\"");
+    }
+
+    @Test
+    void shouldReportRosterVersionOfRosterRead() {
+        // Given
+        DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntityFlux(DataBuffer.class))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .header(Constants.ROSTER_EPOCH_HEADER, "e")
+                        .header(Constants.ROSTER_VERSION_HEADER, "5")
+                        .body(Flux.<DataBuffer>just(
+                                bufferFactory.wrap("{\"data\":[]}".getBytes(StandardCharsets.UTF_8))))));
+
+        // When
+        Versioned<List<EmployeeDTO>> result = employeeServerClient.getAllEmployees(null).block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(new RosterVersion("e", 5), result.rosterVersion());
+    }
+
+    @Test
+    void shouldReadChangesSinceRosterVersion() {
+        // Given
+        ReflectionTestUtils.setField(employeeServerClient, "serverBaseUrl", "http://server");
+        ReflectionTestUtils.setField(employeeServerClient, "changesPageSize", 100);
+        ChangeFeedDTO feed = new ChangeFeedDTO();
+        feed.setEpoch("e");
+        feed.setVersion(6);
+        ChangeFeedResponse response = new ChangeFeedResponse();
+        response.setData(feed);
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("http://server/employee/changes?since=5&epoch=e&limit=100"))
+                .thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(ChangeFeedResponse.class)).thenReturn(Mono.just(ResponseEntity.ok(response)));
+
+        // When & Then
+        assertSame(feed, employeeServerClient.getChanges(new RosterVersion("e", 5)).block());
+    }
+
+    @Test
+    void shouldStopAskingForChangesOnceServerRejectsThem() {
+        // Given
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(ChangeFeedResponse.class))
+                .thenReturn(Mono.error(new ApiException("Bad Request", HttpStatus.BAD_REQUEST)));
+
+        // When
+        ChangeFeedDTO first = employeeServerClient.getChanges(new RosterVersion("e", 5)).block();
+        ChangeFeedDTO second = employeeServerClient.getChanges(new RosterVersion("e", 5)).block();
+
+        // Then
+        assertNull(first);
+        assertNull(second);
+        verify(webClient, times(1)).method(HttpMethod.GET);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamRosterEventsAndSkipBareComments() {
+        // Given
+        RosterEventDTO event = new RosterEventDTO();
+        event.setEpoch("e");
+        event.setVersion(5);
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.accept(MediaType.TEXT_EVENT_STREAM)).thenReturn(requestBodySpec);
+        when(requestBodySpec.attribute(UpstreamRatePacer.UNPACED, true)).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(any(ParameterizedTypeReference.class)))
+                .thenReturn(Flux.just(
+                        ServerSentEvent.builder(event).event("version").id("5").build(),
+                        ServerSentEvent.builder().comment("keep-alive").build()));
+
+        // When
+        List<RosterEventDTO> events = employeeServerClient.streamRosterEvents().collectList().block();
+
+        // Then
+        assertEquals(List.of(event), events);
+    }
+
+    @Test
+    void shouldAskServerForProjectedFieldsOnly() {
+        // Given
+        ReflectionTestUtils.setField(employeeServerClient, "serverBaseUrl", "http://server");
+        String json = "{\"data\":[{\"employee_salary\":50000},{\"employee_salary\":90000}],\"status\":\"ok\"}";
+
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("http://server/employee?fields=salary")).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class))
+                .thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(
+                        json.getBytes(StandardCharsets.UTF_8))));
+
+        // When
+        List<Integer> salaries = employeeServerClient
+                .streamAllEmployees(RosterProjection.SALARY)
+                .map(EmployeeDTO::getSalary)
+                .collectList()
+                .block();
+
+        // Then
+        assertEquals(List.of(50000, 90000), salaries);
+    }
+
+    @Test
+    void shouldReadRosterPagesAndEmitThemInOrder() {
+        // Given
+        ReflectionTestUtils.setField(employeeServerClient, "serverBaseUrl", "http://server");
+        ReflectionTestUtils.setField(employeeServerClient, "rosterPageSize", 1);
+        ReflectionTestUtils.setField(employeeServerClient, "rosterPageConcurrency", 2);
+        Map<String, ResponseEntity<Flux<DataBuffer>>> pages = Map.of(
+                "http://server/employee?limit=1", page("Alice", "1,2"),
+                "http://server/employee?limit=1&cursor=1&until=2", page("Bob", null),
+                "http://server/employee?limit=1&cursor=2", page("Carol", null));
+        AtomicReference<String> requested = new AtomicReference<>();
+
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenAnswer(invocation -> {
+            requested.set(invocation.getArgument(0));
+            return requestBodySpec;
+        });
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntityFlux(DataBuffer.class))
+                .thenAnswer(invocation -> Mono.just(pages.get(requested.get())));
+
+        // When
+        List<EmployeeDTO> result = employeeServerClient.getAllEmployees().block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(
+                List.of("Alice", "Bob", "Carol"),
+                result.stream().map(EmployeeDTO::getName).toList());
+    }
+
+    @Test
+    void shouldStopAskingForSalaryAggregatesOnceServerAnswers404() {
+        // Given
+        ReflectionTestUtils.setField(employeeServerClient, "serverAggregates", true);
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(SalaryResponse.class))
+                .thenReturn(Mono.error(new ApiException("Entity Not Found", HttpStatus.NOT_FOUND)));
+
+        // When
+        Integer first = employeeServerClient.getHighestSalary().block();
+        Integer second = employeeServerClient.getHighestSalary().block();
+
+        // Then
+        assertNull(first);
+        assertNull(second);
+        verify(webClient, times(1)).method(HttpMethod.GET);
+    }
+
+    @Test
+    void shouldGetHighestSalaryFromServer() {
+        // Given
+        ReflectionTestUtils.setField(employeeServerClient, "serverAggregates", true);
+        SalaryResponse response = new SalaryResponse();
+        response.setData(90000);
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(SalaryResponse.class)).thenReturn(Mono.just(ResponseEntity.ok(response)));
+
+        // When & Then
+        assertEquals(90000, employeeServerClient.getHighestSalary().block());
+    }
+
+    @Test
+    void shouldGetEmployeeById() {
+        // Given
+        String employeeId = "123";
+        EmployeeResponse response = new EmployeeResponse();
+        response.setData(testEmployee);
+        ResponseEntity<EmployeeResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.OK);
+
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(EmployeeResponse.class)).thenReturn(Mono.just(responseEntity));
+
+        // When
+        EmployeeDTO result = employeeServerClient.getEmployeeById(employeeId).block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals("John Doe", result.getName());
+        assertEquals(50000, result.getSalary());
+    }
+
+    @Test
+    void shouldHandleNoResponseForEmployeeById() {
+        // Given
+        String employeeId = "123";
+        ApiException apiException = new ApiException("Employee not found", HttpStatus.NOT_FOUND);
+
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(EmployeeResponse.class)).thenReturn(Mono.error(apiException));
+
+        // When & Then
+        ApiException exception =
+                assertThrows(ApiException.class, () -> employeeServerClient.getEmployeeById(employeeId).block());
+
+        assertEquals("Employee not found", exception.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void shouldCreateEmployee() {
+        // Given
+        EmployeeResponse response = new EmployeeResponse();
+        response.setData(testEmployee);
+        ResponseEntity<EmployeeResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.CREATED);
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.header(anyString(), anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(anyString())).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(EmployeeResponse.class)).thenReturn(Mono.just(responseEntity));
+
+        // When
+        EmployeeDTO result = employeeServerClient.createEmployee(testCreateRequest).block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals("John Doe", result.getName());
+        assertEquals(50000, result.getSalary());
+    }
+
+    @Test
+    void shouldDeleteEmployeeByName() {
+        // Given
+        GenericResponse deleteResponse = new GenericResponse();
+        deleteResponse.setData("true");
+        ResponseEntity<GenericResponse> deleteResponseEntity = new ResponseEntity<>(deleteResponse, HttpStatus.OK);
+
+        when(webClient.method(HttpMethod.DELETE)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(GenericResponse.class)).thenReturn(Mono.just(deleteResponseEntity));
+
+        // When
+        String result = employeeServerClient.deleteEmployeeByName("John Doe").block();
+
+        // Then
+        assertEquals("true", result);
+    }
+
+    @Test
+    void shouldRetryRateLimitedCallsWithoutBlocking() {
+        // Given
+        EmployeeResponse response = new EmployeeResponse();
+        response.setData(testEmployee);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<ResponseEntity<EmployeeResponse>> flakyUpstream = Mono.defer(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(new ApiException("Rate Limit Reached", HttpStatus.TOO_MANY_REQUESTS))
+                : Mono.just(new ResponseEntity<>(response, HttpStatus.OK)));
+
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(EmployeeResponse.class)).thenReturn(flakyUpstream);
+
+        // When
+        EmployeeDTO result = employeeServerClient.getEmployeeById("123").block();
+
+        // Then
+        assertEquals("John Doe", result.getName());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<ResponseEntity<EmployeeResponse>> rateLimited = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new ApiException("Rate Limit Reached", HttpStatus.TOO_MANY_REQUESTS));
+        });
+
+        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
+        when(responseSpec.toEntity(EmployeeResponse.class)).thenReturn(rateLimited);
+
+        // When & Then
+        ApiException exception = assertThrows(
+                ApiException.class, () -> employeeServerClient.getEmployeeById("123").block());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+        assertEquals(3, attempts.get());
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> page(String name, String pageCursors) {
+        String json = "{\"data\":[{\"id\":\"" + UUID.randomUUID() + "\",\"employee_name\":\"" + name
+                + "\"}],\"status\":\"ok\"}";
+        HttpHeaders headers = new HttpHeaders();
+        if (pageCursors != null) {
+            headers.set(Constants.PAGE_CURSORS_HEADER, pageCursors);
+        }
+        DataBuffer body = DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8));
+        return new ResponseEntity<>(Flux.just(body), headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,159 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.ApiException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+
+class RosterJsonStreamTest {
+
+    private static final UUID ID = UUID.fromString("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507");
+
+    private static final String ROSTER = "{\"status\":\"Successfully processed request.\",\"data\":["
+            + "{\"id\":\"" + ID + "\",\"employee_name\":\"Tiger Nixon\",\"employee_salary\":320800,"
+            + "\"employee_age\":61,\"employee_title\":\"Vice Chair\",\"employee_email\":\"tnixon@company.com\","
+            + "\"extra\":{\"nested\":[1,{\"employee_salary\":1}]}},"
+            + "{\"employee_name\":\"Garrett Winters\",\"employee_salary\":170750,\"employee_age\":63}"
+            + "],\"meta\":{\"data\":[{\"employee_name\":\"not an employee\"}]}}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Test
+    void shouldDecodeFullEmployeesAcrossArbitraryChunkBoundaries() {
+        byte[] bytes = ROSTER.getBytes(StandardCharsets.UTF_8);
+        for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize += 7) {
+            List<EmployeeDTO> employees = decode(chunks(bytes, chunkSize), RosterProjection.FULL);
+
+            assertEquals(2, employees.size(), "chunk size " + chunkSize);
+            EmployeeDTO first = employees.get(0);
+            assertEquals(ID, first.getId());
+            assertEquals("Tiger Nixon", first.getName());
+            assertEquals(320800, first.getSalary());
+            assertEquals(61, first.getAge());
+            assertEquals("Vice Chair", first.getTitle());
+            assertEquals("tnixon@company.com", first.getEmail());
+            assertEquals("Garrett Winters", employees.get(1).getName());
+        }
+    }
+
+    @Test
+    void shouldMaterializeOnlyProjectedFields() {
+        List<EmployeeDTO> employees =
+                decode(chunks(ROSTER.getBytes(StandardCharsets.UTF_8), 16), RosterProjection.SALARY);
+
+        assertEquals(2, employees.size());
+        assertEquals(320800, employees.get(0).getSalary());
+        assertNull(employees.get(0).getName());
+        assertNull(employees.get(0).getId());
+        assertNull(employees.get(0).getEmail());
+        assertEquals(170750, employees.get(1).getSalary());
+    }
+
+    @Test
+    void shouldDecodeNameAndSalaryProjection() {
+        List<EmployeeDTO> employees =
+                decode(chunks(ROSTER.getBytes(StandardCharsets.UTF_8), 5), RosterProjection.NAME_AND_SALARY);
+
+        assertEquals(ID, employees.get(0).getId());
+        assertEquals("Tiger Nixon", employees.get(0).getName());
+        assertEquals(320800, employees.get(0).getSalary());
+        assertNull(employees.get(0).getAge());
+        assertNull(employees.get(0).getTitle());
+    }
+
+    @Test
+    void shouldFailOnTruncatedBody() {
+        byte[] bytes = ROSTER.substring(0, ROSTER.length() / 2).getBytes(StandardCharsets.UTF_8);
+
+        ApiException exception =
+                assertThrows(ApiException.class, () -> decode(chunks(bytes, 32), RosterProjection.FULL));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatus());
+    }
+
+    @Test
+    void shouldTranscodeToJsonArrayWithApiFieldNames() throws Exception {
+        byte[] bytes = ROSTER.getBytes(StandardCharsets.UTF_8);
+        for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize += 11) {
+            String json = transcode(chunks(bytes, chunkSize), RosterFormat.JSON_ARRAY);
+
+            List<EmployeeDTO> employees = List.of(mapper.readValue(json, EmployeeDTO[].class));
+            assertEquals(2, employees.size(), "chunk size " + chunkSize);
+            assertEquals("Tiger Nixon", employees.get(0).getName());
+            assertEquals(320800, employees.get(0).getSalary());
+            assertFalse(json.contains("employee_name"));
+            assertTrue(json.startsWith("[{\"id\":\"" + ID + "\",\"name\":"));
+            assertFalse(json.contains("extra"));
+        }
+    }
+
+    @Test
+    void shouldTranscodeToSameJsonAsBufferedListWhenFieldsAreNullOrUnknown() throws Exception {
+        // Given
+        String roster = "{\"data\":[{\"id\":\"" + ID + "\",\"employee_name\":\"Tiger Nixon\","
+                + "\"employee_salary\":320800,\"employee_age\":null,\"employee_title\":null,\"extra\":[null,{}],"
+                + "\"employee_email\":\"tnixon@company.com\"},{\"employee_name\":null,\"employee_salary\":1}]}";
+        byte[] bytes = roster.getBytes(StandardCharsets.UTF_8);
+        String buffered = mapper.writeValueAsString(decode(chunks(bytes, bytes.length), RosterProjection.FULL));
+
+        for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize += 13) {
+            // When
+            String streamed = transcode(chunks(bytes, chunkSize), RosterFormat.JSON_ARRAY);
+
+            // Then
+            assertEquals(mapper.readTree(buffered), mapper.readTree(streamed), "chunk size " + chunkSize);
+            assertFalse(streamed.contains("null"), "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    void shouldTranscodeToNdjsonOneEmployeePerLine() throws Exception {
+        String ndjson = transcode(chunks(ROSTER.getBytes(StandardCharsets.UTF_8), 9), RosterFormat.NDJSON);
+
+        String[] lines = ndjson.split("\n");
+        assertTrue(ndjson.endsWith("\n"));
+        assertEquals(2, lines.length);
+        assertEquals("Garrett Winters", mapper.readValue(lines[1], EmployeeDTO.class).getName());
+    }
+
+    @Test
+    void shouldTranscodeMissingDataToEmptyArray() {
+        byte[] bytes = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+        String json = transcode(chunks(bytes, 4), RosterFormat.JSON_ARRAY);
+
+        assertEquals("[]", json);
+    }
+
+    private String transcode(Flux<DataBuffer> body, RosterFormat format) {
+        return RosterJsonStream.transcode(body, mapper, bufferFactory, format)
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .collect(Collectors.joining())
+                .block();
+    }
+
+    private List<EmployeeDTO> decode(Flux<DataBuffer> body, RosterProjection projection) {
+        return RosterJsonStream.decode(body, mapper, projection).collectList().block();
+    }
+
+    private Flux<DataBuffer> chunks(byte[] bytes, int chunkSize) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int from = 0; from < bytes.length; from += chunkSize) {
+            buffers.add(bufferFactory.wrap(Arrays.copyOfRange(bytes, from, Math.min(bytes.length, from + chunkSize))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.QuotaExhaustedException;
+import java.net.URI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+class UpstreamRatePacerTest {
+
+    private UpstreamRatePacer pacer;
+
+    @BeforeEach
+    void setUp() {
+        pacer = new UpstreamRatePacer(true, 30_000, 2_000);
+    }
+
+    @Test
+    void shouldNotPaceBeforeFirstRejection() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, pacer.reserve(1_000 + i));
+            pacer.record(200, 1_000 + i, 1_000 + i);
+        }
+        assertEquals(-1, pacer.limit());
+    }
+
+    @Test
+    void shouldLearnLimitFromFirstRejection() {
+        // Given
+        acceptFive();
+
+        // When
+        pacer.record(429, 1_005, 1_005);
+
+        // Then
+        assertEquals(5, pacer.limit());
+        assertEquals(-29_004, pacer.reserve(2_000));
+    }
+
+    @Test
+    void shouldQueueIntoNextWindowWithinMaxWait() {
+        // Given
+        acceptFive();
+        pacer.record(429, 1_005, 1_005);
+
+        // When
+        long wait = pacer.reserve(29_500);
+
+        // Then
+        assertEquals(1_504, wait);
+        assertEquals(0, pacer.reserve(31_004));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, pacer.reserve(31_004));
+        }
+        assertTrue(pacer.reserve(31_004) < 0);
+    }
+
+    @Test
+    void shouldLearnBlockFromFirstSuccessAfterRejection() {
+        // Given
+        acceptFive();
+        pacer.record(429, 1_005, 1_005);
+
+        // When: a response to a request sent before the block does not end it
+        pacer.record(200, 1_003, 1_006);
+        assertEquals(30_000, pacer.blockMillis());
+        pacer.record(200, 31_004, 31_010);
+
+        // Then
+        assertEquals(30_006, pacer.blockMillis());
+    }
+
+    @Test
+    void shouldExtendBlockWhenRejectedPastEstimate() {
+        // Given
+        acceptFive();
+        pacer.record(429, 1_005, 1_005);
+
+        // When
+        pacer.record(429, 31_500, 31_500);
+
+        // Then
+        assertEquals(31_496, pacer.blockMillis());
+        assertTrue(pacer.reserve(31_600) > 0);
+    }
+
+    @Test
+    void shouldLetEventStreamThroughWithoutTakingQuota() {
+        // Given
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, pacer.reserve(now));
+            pacer.record(200, now, now);
+        }
+        pacer.record(429, now, now);
+        ExchangeFunction server = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        ClientRequest events = ClientRequest.create(HttpMethod.GET, URI.create("http://server/api/v1/employee/events"))
+                .attribute(UpstreamRatePacer.UNPACED, true)
+                .build();
+        ClientRequest read = ClientRequest.create(HttpMethod.GET, URI.create("http://server/api/v1/employee"))
+                .build();
+
+        // When
+        ClientResponse response = pacer.filter().filter(events, server).block();
+
+        // Then
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(30_000, pacer.blockMillis());
+        assertThrows(QuotaExhaustedException.class, () -> pacer.filter()
+                .filter(read, server)
+                .block());
+    }
+
+    private void acceptFive() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, pacer.reserve(1_000 + i));
+            pacer.record(200, 1_000 + i, 1_000 + i);
+        }
+    }
+}
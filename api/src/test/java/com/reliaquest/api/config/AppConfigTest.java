@@ -0,0 +1,72 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.UpstreamRatePacer;
+import io.netty.channel.ChannelOption;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientConfig;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+class AppConfigTest {
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner().withUserConfiguration(AppConfig.class, UpstreamRatePacer.class);
+
+    @Test
+    void shouldBuildHttpClientOnConfiguredPoolAndProtocol() {
+        // Given
+        ApplicationContextRunner configured = contextRunner.withPropertyValues(
+                "web-client.pool.max-connections=7",
+                "web-client.config.h2c=true",
+                "web-client.config.connection-timeout=1234",
+                "web-client.loop.threads=2");
+
+        configured.run(context -> {
+            // When
+            HttpClientConfig config = context.getBean(HttpClient.class).configuration();
+            ConnectionProvider pool = context.getBean(ConnectionProvider.class);
+
+            // Then
+            assertSame(pool, config.connectionProvider());
+            assertEquals(7, pool.maxConnections());
+            assertSame(context.getBean(LoopResources.class), config.loopResources());
+            assertArrayEquals(new HttpProtocol[] {HttpProtocol.H2C}, config.protocols());
+            assertEquals(1234, config.options().get(ChannelOption.CONNECT_TIMEOUT_MILLIS));
+            assertNotNull(context.getBean(WebClient.class));
+        });
+    }
+
+    @Test
+    void shouldSpeakHttp11AndVerifyCertificatesByDefault() {
+        // Given / When
+        contextRunner.run(context -> {
+            HttpClientConfig config = context.getBean(HttpClient.class).configuration();
+
+            // Then
+            assertArrayEquals(new HttpProtocol[] {HttpProtocol.HTTP11}, config.protocols());
+            assertNull(config.sslProvider());
+            assertEquals(50, context.getBean(ConnectionProvider.class).maxConnections());
+        });
+    }
+
+    @Test
+    void shouldTrustAnyCertificateOnlyWhenAskedTo() {
+        // Given
+        ApplicationContextRunner insecure =
+                contextRunner.withPropertyValues("web-client.config.insecure-trust-all=true");
+
+        insecure.run(context -> {
+            // When
+            HttpClientConfig config = context.getBean(HttpClient.class).configuration();
+
+            // Then
+            assertNotNull(config.sslProvider());
+        });
+    }
+}
@@ -30,7 +30,8 @@ import org.springframework.test.web.servlet.MockMvc;
 
 @AutoConfigureMockMvc
 @SpringBootTest(classes = ApiApplication.class)
-@TestPropertySource(properties = {"server.port=8113", "server.api.url=http://localhost:9097"})
+@TestPropertySource(
+        properties = {"server.port=8113", "server.api.url=http://localhost:9097", "roster-events.enabled=false"})
 class EmployeeServiceImplIntegrationTest {
 
     @Autowired
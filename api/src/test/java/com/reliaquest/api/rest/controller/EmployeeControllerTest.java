@@ -1,19 +1,27 @@
 package com.reliaquest.api.rest.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.RosterFormat;
 import com.reliaquest.api.dto.EmployeeCreateRequest;
 import com.reliaquest.api.dto.EmployeeDTO;
 import com.reliaquest.api.exception.ApiException;
 import com.reliaquest.api.service.EmployeeService;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -26,6 +34,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest({EmployeeController.class, com.reliaquest.api.rest.controller.advice.ControllerAdvice.class})
 class EmployeeControllerTest {
@@ -59,6 +68,30 @@ class EmployeeControllerTest {
         testCreateRequest.setTitle("Senior Developer");
     }
 
+    @Test
+    void shouldStreamEmployeeListAsNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(1);
+                    out.write("{\"name\":\"John Doe\"}\n".getBytes(StandardCharsets.UTF_8));
+                    return null;
+                })
+                .when(employeeService)
+                .writeAllEmployees(eq(RosterFormat.NDJSON), any());
+
+        // When
+        MvcResult result = mockMvc.perform(
+                        get("/v1/employee").param("stream", "true").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"name\":\"John Doe\"}\n"));
+    }
+
     @Test
     void shouldGetEmployeeList() throws Exception {
         // Given
@@ -155,7 +188,21 @@ class EmployeeControllerTest {
         mockMvc.perform(get("/v1/employee/highestSalary"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").value(100000));
+                .andExpect(jsonPath("$").value(100000))
+                .andExpect(header().doesNotExist(EmployeeController.STALE_HEADER));
+    }
+
+    @Test
+    void shouldFlagStaleRosterReads() throws Exception {
+        // Given
+        when(employeeService.getHighestSalaryOfEmployees()).thenReturn(100000);
+        when(employeeService.getRosterStalenessMillis()).thenReturn(4200L);
+
+        // When & Then
+        mockMvc.perform(get("/v1/employee/highestSalary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(100000))
+                .andExpect(header().string(EmployeeController.STALE_HEADER, "4200"));
     }
 
     @Test
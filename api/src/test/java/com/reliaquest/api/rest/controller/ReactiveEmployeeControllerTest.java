@@ -0,0 +1,131 @@
+package com.reliaquest.api.rest.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.dto.EmployeeCreateRequest;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.rest.controller.advice.ReactiveControllerAdvice;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+@Import(ReactiveControllerAdvice.class)
+class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    private EmployeeDTO testEmployee;
+
+    @BeforeEach
+    void setUp() {
+        testEmployee = new EmployeeDTO();
+        testEmployee.setId(UUID.randomUUID());
+        testEmployee.setName("John Doe");
+        testEmployee.setSalary(50000);
+        testEmployee.setAge(30);
+        testEmployee.setTitle("Software Engineer");
+    }
+
+    @Test
+    void shouldGetAllEmployees() {
+        when(employeeService.getAllEmployees()).thenReturn(Flux.just(testEmployee));
+
+        webTestClient
+                .get()
+                .uri("/v1/employee")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$[0].name")
+                .isEqualTo("John Doe")
+                .jsonPath("$[0].salary")
+                .isEqualTo(50000);
+    }
+
+    @Test
+    void shouldGetHighestSalary() {
+        when(employeeService.getHighestSalaryOfEmployees()).thenReturn(Mono.just(80000));
+
+        webTestClient
+                .get()
+                .uri("/v1/employee/highestSalary")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(Integer.class)
+                .isEqualTo(80000);
+    }
+
+    @Test
+    void shouldMapApiExceptionToErrorResponse() {
+        when(employeeService.getEmployeeById("missing"))
+                .thenReturn(Mono.error(new ApiException("Entity Not Found", HttpStatus.NOT_FOUND)));
+
+        webTestClient
+                .get()
+                .uri("/v1/employee/missing")
+                .exchange()
+                .expectStatus()
+                .isNotFound()
+                .expectBody()
+                .jsonPath("$.message")
+                .isEqualTo("Entity Not Found")
+                .jsonPath("$.statusCode")
+                .isEqualTo(404);
+    }
+
+    @Test
+    void shouldCreateEmployee() {
+        when(employeeService.createEmployee(any())).thenReturn(Mono.just(testEmployee));
+        EmployeeCreateRequest request = new EmployeeCreateRequest();
+        request.setName("John Doe");
+        request.setSalary(50000);
+        request.setAge(30);
+        request.setTitle("Software Engineer");
+
+        webTestClient
+                .post()
+                .uri("/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus()
+                .isCreated()
+                .expectBody()
+                .jsonPath("$.name")
+                .isEqualTo("John Doe");
+    }
+
+    @Test
+    void shouldRejectInvalidCreateRequest() {
+        webTestClient
+                .post()
+                .uri("/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EmployeeCreateRequest())
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.message")
+                .isEqualTo("Validation failed");
+    }
+}
@@ -4,62 +4,55 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.NameIndex;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.client.EmployeeServerClient;
+import com.reliaquest.api.client.Versioned;
 import com.reliaquest.api.dto.EmployeeCreateRequest;
 import com.reliaquest.api.dto.EmployeeDTO;
-import com.reliaquest.api.dto.api.response.EmployeeListResponse;
-import com.reliaquest.api.dto.api.response.EmployeeResponse;
-import com.reliaquest.api.dto.api.response.GenericResponse;
 import com.reliaquest.api.exception.ApiException;
-import com.reliaquest.api.utils.Utils;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.test.context.TestPropertySource;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @ExtendWith(MockitoExtension.class)
-@TestPropertySource(properties = {"server.api.url=http://localhost:8112/api/v1"})
 class EmployeeServiceImplTest {
 
     @Mock
-    private WebClient webClient;
+    private EmployeeServerClient employeeServerClient;
 
     @Mock
-    private WebClient.RequestBodyUriSpec requestBodyUriSpec;
+    private RosterCache rosterCache;
 
-    @Mock
-    private WebClient.RequestBodySpec requestBodySpec;
-
-    @Mock
-    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
-
-    @Mock
-    private WebClient.ResponseSpec responseSpec;
-
-    @Mock
-    private Utils utils;
+    @Spy
+    private EmployeeByIdCache employeeByIdCache = new EmployeeByIdCache(100, 60_000, 0);
 
     @InjectMocks
+    private ReactiveEmployeeServiceImpl reactiveEmployeeService;
+
     private EmployeeServiceImpl employeeService;
 
-    private final String serverBaseUrl = "http://localhost:8112/api/v1";
     private EmployeeDTO testEmployee;
     private EmployeeCreateRequest testCreateRequest;
 
     @BeforeEach
     void setUp() {
+        employeeService = new EmployeeServiceImpl(reactiveEmployeeService);
+
         testEmployee = new EmployeeDTO();
         testEmployee.setId(UUID.randomUUID());
         testEmployee.setName("John Doe");
@@ -76,18 +69,9 @@ class EmployeeServiceImplTest {
     }
 
     @Test
-    void shouldGetAllEmployees() {
+    void shouldGetAllEmployeesFromRosterSnapshot() {
         // Given
-        List<EmployeeDTO> expectedEmployees = Arrays.asList(testEmployee);
-        EmployeeListResponse response = new EmployeeListResponse();
-        response.setData(expectedEmployees);
-        ResponseEntity<EmployeeListResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.OK);
-
-        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeListResponse.class)).thenReturn(Mono.just(responseEntity));
+        givenRoster(Arrays.asList(testEmployee));
 
         // When
         List<EmployeeDTO> result = employeeService.getAllEmployees();
@@ -97,24 +81,17 @@ class EmployeeServiceImplTest {
         assertEquals(1, result.size());
         assertEquals("John Doe", result.get(0).getName());
         assertEquals(50000, result.get(0).getSalary());
+        verifyNoInteractions(employeeServerClient);
     }
 
     @Test
     void shouldGetEmployeeById() {
         // Given
-        String employeeId = "123";
-        EmployeeResponse response = new EmployeeResponse();
-        response.setData(testEmployee);
-        ResponseEntity<EmployeeResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.OK);
-
-        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeResponse.class)).thenReturn(Mono.just(responseEntity));
+        when(employeeServerClient.getEmployeeById("123", null))
+                .thenReturn(Mono.just(new Versioned<>(testEmployee, null)));
 
         // When
-        EmployeeDTO result = employeeService.getEmployeeById(employeeId);
+        EmployeeDTO result = employeeService.getEmployeeById("123");
 
         // Then
         assertNotNull(result);
@@ -125,17 +102,11 @@ class EmployeeServiceImplTest {
     @Test
     void shouldHandleNoResponseForEmployeeById() {
         // Given
-        String employeeId = "123";
-        ApiException apiException = new ApiException("Employee not found", HttpStatus.NOT_FOUND);
-
-        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeResponse.class)).thenReturn(Mono.error(apiException));
+        when(employeeServerClient.getEmployeeById("123", null))
+                .thenReturn(Mono.error(new ApiException("Employee not found", HttpStatus.NOT_FOUND)));
 
         // When & Then
-        ApiException exception = assertThrows(ApiException.class, () -> employeeService.getEmployeeById(employeeId));
+        ApiException exception = assertThrows(ApiException.class, () -> employeeService.getEmployeeById("123"));
 
         assertEquals("Employee not found", exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
@@ -144,28 +115,10 @@ class EmployeeServiceImplTest {
     @Test
     void shouldSearchOnEmployeeName() {
         // Given
-        EmployeeDTO employee1 = new EmployeeDTO();
-        employee1.setName("John Doe");
-        employee1.setSalary(50000);
-
-        EmployeeDTO employee2 = new EmployeeDTO();
-        employee2.setName("Jane Smith");
-        employee2.setSalary(60000);
-
-        EmployeeDTO employee3 = new EmployeeDTO();
-        employee3.setName("Johnny Walker");
-        employee3.setSalary(70000);
-
-        List<EmployeeDTO> allEmployees = Arrays.asList(employee1, employee2, employee3);
-        EmployeeListResponse response = new EmployeeListResponse();
-        response.setData(allEmployees);
-        ResponseEntity<EmployeeListResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.OK);
-
-        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeListResponse.class)).thenReturn(Mono.just(responseEntity));
+        givenNameIndex(Arrays.asList(
+                createEmployee("John Doe", 50000),
+                createEmployee("Jane Smith", 60000),
+                createEmployee("Johnny Walker", 70000)));
 
         // When
         List<EmployeeDTO> result = employeeService.getEmployeesByNameSearch("John");
@@ -177,18 +130,22 @@ class EmployeeServiceImplTest {
     }
 
     @Test
-    void shouldHandleNoMatchForNameSearch() {
+    void shouldSearchCaseInsensitively() {
         // Given
-        List<EmployeeDTO> allEmployees = Arrays.asList(testEmployee);
-        EmployeeListResponse response = new EmployeeListResponse();
-        response.setData(allEmployees);
-        ResponseEntity<EmployeeListResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.OK);
+        givenNameIndex(Arrays.asList(createEmployee("John Doe", 50000), createEmployee("Jane Smith", 60000)));
+
+        // When
+        List<EmployeeDTO> result = employeeService.getEmployeesByNameSearch("jOHN");
 
-        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeListResponse.class)).thenReturn(Mono.just(responseEntity));
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("John Doe", result.get(0).getName());
+    }
+
+    @Test
+    void shouldHandleNoMatchForNameSearch() {
+        // Given
+        givenNameIndex(Arrays.asList(testEmployee));
 
         // When
         List<EmployeeDTO> result = employeeService.getEmployeesByNameSearch("NonExistent");
@@ -201,25 +158,7 @@ class EmployeeServiceImplTest {
     @Test
     void shouldGetHighestSalary() {
         // Given
-        EmployeeDTO employee1 = new EmployeeDTO();
-        employee1.setSalary(50000);
-
-        EmployeeDTO employee2 = new EmployeeDTO();
-        employee2.setSalary(80000);
-
-        EmployeeDTO employee3 = new EmployeeDTO();
-        employee3.setSalary(60000);
-
-        List<EmployeeDTO> allEmployees = Arrays.asList(employee1, employee2, employee3);
-        EmployeeListResponse response = new EmployeeListResponse();
-        response.setData(allEmployees);
-        ResponseEntity<EmployeeListResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.OK);
-
-        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeListResponse.class)).thenReturn(Mono.just(responseEntity));
+        when(rosterCache.highestSalary()).thenReturn(Mono.just(80000));
 
         // When
         Integer result = employeeService.getHighestSalaryOfEmployees();
@@ -232,16 +171,7 @@ class EmployeeServiceImplTest {
     @Test
     void shouldHandleEmptyListResponseForHighestSalary() {
         // Given
-        List<EmployeeDTO> emptyList = Collections.emptyList();
-        EmployeeListResponse response = new EmployeeListResponse();
-        response.setData(emptyList);
-        ResponseEntity<EmployeeListResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.OK);
-
-        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeListResponse.class)).thenReturn(Mono.just(responseEntity));
+        when(rosterCache.highestSalary()).thenReturn(Mono.just(0));
 
         // When
         Integer result = employeeService.getHighestSalaryOfEmployees();
@@ -254,7 +184,7 @@ class EmployeeServiceImplTest {
     @Test
     void shouldGetTop10HighestPaidEmployee() {
         // Given
-        List<EmployeeDTO> employees = Arrays.asList(
+        givenTopEarners(Arrays.asList(
                 createEmployee("Alice", 100000),
                 createEmployee("Bob", 90000),
                 createEmployee("Charlie", 80000),
@@ -266,17 +196,7 @@ class EmployeeServiceImplTest {
                 createEmployee("Ivy", 20000),
                 createEmployee("Jack", 10000),
                 createEmployee("Kate", 5000) // This should be excluded
-                );
-
-        EmployeeListResponse response = new EmployeeListResponse();
-        response.setData(employees);
-        ResponseEntity<EmployeeListResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.OK);
-
-        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeListResponse.class)).thenReturn(Mono.just(responseEntity));
+                ));
 
         // When
         List<String> result = employeeService.getTopTenHighestEarningEmployeeNames();
@@ -291,19 +211,9 @@ class EmployeeServiceImplTest {
     }
 
     @Test
-    void shouldCreateEmployee() throws JsonProcessingException {
+    void shouldCreateEmployeeAndWriteThroughToRoster() {
         // Given
-        EmployeeResponse response = new EmployeeResponse();
-        response.setData(testEmployee);
-        ResponseEntity<EmployeeResponse> responseEntity = new ResponseEntity<>(response, HttpStatus.CREATED);
-
-        when(webClient.post()).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.header(anyString(), anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(anyString())).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeResponse.class)).thenReturn(Mono.just(responseEntity));
+        when(employeeServerClient.createEmployee(testCreateRequest)).thenReturn(Mono.just(testEmployee));
 
         // When
         EmployeeDTO result = employeeService.createEmployee(testCreateRequest);
@@ -312,6 +222,7 @@ class EmployeeServiceImplTest {
         assertNotNull(result);
         assertEquals("John Doe", result.getName());
         assertEquals(50000, result.getSalary());
+        verify(rosterCache).applyCreated(testEmployee);
     }
 
     @Test
@@ -319,31 +230,10 @@ class EmployeeServiceImplTest {
         // Given
         String employeeId = "123";
         EmployeeDTO employeeToDelete = createEmployee("John Doe", 50000);
-
-        // Mock GET employee by ID response
-        EmployeeResponse getEmployeeResponse = new EmployeeResponse();
-        getEmployeeResponse.setData(employeeToDelete);
-        ResponseEntity<EmployeeResponse> getResponseEntity = new ResponseEntity<>(getEmployeeResponse, HttpStatus.OK);
-
-        // Mock DELETE employee response
-        GenericResponse deleteResponse = new GenericResponse();
-        deleteResponse.setData("Employee John Doe deleted successfully");
-        ResponseEntity<GenericResponse> deleteResponseEntity = new ResponseEntity<>(deleteResponse, HttpStatus.OK);
-
-        // Mock GET employee by ID
-        when(webClient.method(any())).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(EmployeeResponse.class)).thenReturn(Mono.just(getResponseEntity));
-
-        // Mock DELETE employee
-        when(webClient.method(HttpMethod.DELETE)).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.retrieve()).thenReturn(responseSpec);
-        when(utils.addExceptionHandling(responseSpec)).thenReturn(responseSpec);
-        when(responseSpec.toEntity(GenericResponse.class)).thenReturn(Mono.just(deleteResponseEntity));
+        when(employeeServerClient.getEmployeeById(employeeId, null))
+                .thenReturn(Mono.just(new Versioned<>(employeeToDelete, null)));
+        when(employeeServerClient.deleteEmployeeByName("John Doe"))
+                .thenReturn(Mono.just("Employee John Doe deleted successfully"));
 
         // When
         String result = employeeService.deleteEmployeeById(employeeId);
@@ -351,10 +241,119 @@ class EmployeeServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals("Employee John Doe deleted successfully", result);
+        verify(rosterCache).applyDeletedByName("John Doe");
+    }
+
+    @Test
+    void shouldForgetTheNamesakeTheServerDeletedRatherThanTheOneAskedFor() {
+        // Given
+        EmployeeDTO older = createEmployee("John Doe", 90000);
+        EmployeeDTO newer = createEmployee("John Doe", 50000);
+        employeeByIdCache.put(older);
+        employeeByIdCache.put(newer);
+        when(employeeServerClient.deleteEmployeeByName("John Doe")).thenReturn(Mono.just("true"));
+        when(rosterCache.applyDeletedByName("John Doe")).thenReturn(Optional.of(older));
+
+        // When
+        String result = employeeService.deleteEmployeeById(newer.getId().toString());
+
+        // Then
+        assertEquals("true", result);
+        assertTrue(employeeByIdCache.get(older.getId().toString()).isEmpty());
+        assertEquals(Optional.of(newer), employeeByIdCache.get(newer.getId().toString()));
+        verify(rosterCache, never()).applyDeleted(any());
+    }
+
+    @Test
+    void shouldForgetEveryCachedNamesakeWhenNoRosterTellsWhichWasDeleted() {
+        // Given
+        EmployeeDTO older = createEmployee("John Doe", 90000);
+        EmployeeDTO newer = createEmployee("JOHN DOE", 50000);
+        EmployeeDTO other = createEmployee("Jane Smith", 60000);
+        List.of(older, newer, other).forEach(employeeByIdCache::put);
+        when(employeeServerClient.deleteEmployeeByName("JOHN DOE")).thenReturn(Mono.just("true"));
+        when(rosterCache.applyDeletedByName("JOHN DOE")).thenReturn(Optional.empty());
+
+        // When
+        employeeService.deleteEmployeeById(newer.getId().toString());
+
+        // Then
+        assertTrue(employeeByIdCache.get(older.getId().toString()).isEmpty());
+        assertTrue(employeeByIdCache.get(newer.getId().toString()).isEmpty());
+        assertEquals(Optional.of(other), employeeByIdCache.get(other.getId().toString()));
+    }
+
+    @Test
+    void shouldServeRepeatedByIdReadsFromCache() {
+        // Given
+        String employeeId = testEmployee.getId().toString();
+        when(employeeServerClient.getEmployeeById(employeeId, null))
+                .thenReturn(Mono.just(new Versioned<>(testEmployee, null)));
+
+        // When
+        employeeService.getEmployeeById(employeeId);
+        EmployeeDTO result = employeeService.getEmployeeById(employeeId.toUpperCase());
+
+        // Then
+        assertEquals("John Doe", result.getName());
+        verify(employeeServerClient, times(1)).getEmployeeById(anyString(), any());
+    }
+
+    @Test
+    void shouldRevalidateExpiredByIdEntryWithItsEtag() {
+        // Given
+        employeeByIdCache = new EmployeeByIdCache(100, 0, 60_000);
+        reactiveEmployeeService = new ReactiveEmployeeServiceImpl(employeeServerClient, rosterCache, employeeByIdCache);
+        employeeService = new EmployeeServiceImpl(reactiveEmployeeService);
+        String employeeId = testEmployee.getId().toString();
+        when(employeeServerClient.getEmployeeById(employeeId, null))
+                .thenReturn(Mono.just(new Versioned<>(testEmployee, "\"etag\"")));
+        when(employeeServerClient.getEmployeeById(employeeId, "\"etag\"")).thenReturn(Mono.empty());
+
+        // When
+        employeeService.getEmployeeById(employeeId);
+        EmployeeDTO result = employeeService.getEmployeeById(employeeId);
+
+        // Then
+        assertSame(testEmployee, result);
+        verify(employeeServerClient, times(1)).getEmployeeById(employeeId, null);
+        verify(employeeServerClient, times(1)).getEmployeeById(employeeId, "\"etag\"");
+    }
+
+    @Test
+    void shouldResolveNameFromCacheWhenDeletingCreatedEmployee() {
+        // Given
+        when(employeeServerClient.createEmployee(testCreateRequest)).thenReturn(Mono.just(testEmployee));
+        when(employeeServerClient.deleteEmployeeByName("John Doe")).thenReturn(Mono.just("true"));
+        String employeeId = testEmployee.getId().toString();
+        employeeService.createEmployee(testCreateRequest);
+
+        // When
+        String result = employeeService.deleteEmployeeById(employeeId);
+
+        // Then
+        assertEquals("true", result);
+        verify(employeeServerClient, never()).getEmployeeById(anyString(), any());
+        assertTrue(employeeByIdCache.get(employeeId).isEmpty());
+    }
+
+    private void givenRoster(List<EmployeeDTO> employees) {
+        when(rosterCache.snapshot())
+                .thenReturn(Mono.just(new RosterSnapshot(1, employees, 0, Long.MAX_VALUE, Long.MAX_VALUE, null, null)));
+    }
+
+    private void givenNameIndex(List<EmployeeDTO> employees) {
+        when(rosterCache.nameIndex()).thenReturn(Mono.just(NameIndex.of(employees)));
+    }
+
+    private void givenTopEarners(List<EmployeeDTO> employees) {
+        when(rosterCache.topEarnerNames(10))
+                .thenReturn(Flux.fromIterable(SalaryIndex.of(employees).topEarnerNames(10)));
     }
 
     private EmployeeDTO createEmployee(String name, Integer salary) {
         EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(UUID.randomUUID());
         employee.setName(name);
         employee.setSalary(salary);
         return employee;
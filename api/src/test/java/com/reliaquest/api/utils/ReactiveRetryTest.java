@@ -0,0 +1,92 @@
+package com.reliaquest.api.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.ApiException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+class ReactiveRetryTest {
+
+    private final List<Object> events = new ArrayList<>();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private CustomRetryListener listener;
+
+    private ReactiveRetry reactiveRetry;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CustomRetryListener(events::add);
+        reactiveRetry = new ReactiveRetry(listener, new UpstreamMetrics(registry), 3, 1, 2.0, 500, false);
+    }
+
+    @Test
+    void shouldWaitAtLeastRetryAfter() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> upstream = Mono.defer(() -> attempts.incrementAndGet() < 2
+                ? Mono.error(rateLimited(Duration.ofMillis(100)))
+                : Mono.just("ok"));
+
+        // When
+        long started = System.nanoTime();
+        String result = reactiveRetry.withRetry("op", upstream).block();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Then
+        assertEquals("ok", result);
+        assertTrue(elapsedMillis >= 100, "retried after " + elapsedMillis + " ms");
+        assertEquals(1, listener.retries());
+        RetryEvent event = (RetryEvent) events.get(0);
+        assertEquals(RetryEvent.Type.RETRY_SCHEDULED, event.type());
+        assertEquals(Duration.ofMillis(100), event.delay());
+    }
+
+    @Test
+    void shouldNotRetryWhenRetryAfterExceedsMaxDelay() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> upstream = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(rateLimited(Duration.ofSeconds(30)));
+        });
+
+        // When & Then
+        ApiException exception =
+                assertThrows(ApiException.class, () -> reactiveRetry.withRetry("op", upstream).block());
+        assertEquals(Duration.ofSeconds(30), exception.getRetryAfter());
+        assertEquals(1, attempts.get());
+        assertEquals(1, listener.retryAfterTooLong());
+        assertEquals(RetryEvent.Type.RETRY_AFTER_TOO_LONG, ((RetryEvent) events.get(0)).type());
+    }
+
+    @Test
+    void shouldCountExhaustedRetries() {
+        // Given
+        Mono<String> upstream = Mono.error(rateLimited(null));
+
+        // When & Then
+        assertThrows(ApiException.class, () -> reactiveRetry.withRetry("op", upstream).block());
+        assertEquals(1, listener.operations());
+        assertEquals(2, listener.retries());
+        assertEquals(1, listener.exhausted());
+        Timer timer = registry.get(UpstreamMetrics.OPERATION_TIMER)
+                .tags("operation", "op", "outcome", "rate_limited")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    private static ApiException rateLimited(Duration retryAfter) {
+        return new ApiException("Rate Limit Reached", HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+    }
+}
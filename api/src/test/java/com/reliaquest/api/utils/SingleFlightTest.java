@@ -0,0 +1,139 @@
+package com.reliaquest.api.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.ApiException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test");
+
+    @Test
+    void shouldShareOneUpstreamCallBetweenConcurrentCallers() {
+        // Given
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        // When
+        List<String> results = Flux.range(0, 10)
+                .flatMap(ignored -> singleFlight.execute("GET /employee", () -> Mono.defer(() -> {
+                    upstreamCalls.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(100)).thenReturn("roster");
+                })))
+                .collectList()
+                .block();
+
+        // Then
+        assertEquals(10, results.size());
+        assertTrue(results.stream().allMatch("roster"::equals));
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(10, singleFlight.calls());
+        assertEquals(9, singleFlight.merged());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void shouldNotCoalesceDifferentKeysOrSequentialCalls() {
+        // Given
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        // When
+        singleFlight.execute("a", () -> Mono.fromCallable(() -> "a" + upstreamCalls.incrementAndGet())).block();
+        singleFlight.execute("a", () -> Mono.fromCallable(() -> "a" + upstreamCalls.incrementAndGet())).block();
+        singleFlight.execute("b", () -> Mono.fromCallable(() -> "b" + upstreamCalls.incrementAndGet())).block();
+
+        // Then
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(0, singleFlight.merged());
+    }
+
+    @Test
+    void shouldShareErrorsAndForgetFailedCalls() {
+        // Given
+        Mono<String> failing = Mono.delay(Duration.ofMillis(50))
+                .then(Mono.error(new ApiException("Rate Limit Reached", HttpStatus.TOO_MANY_REQUESTS)));
+
+        // When
+        List<Throwable> errors = Flux.range(0, 3)
+                .flatMap(ignored -> singleFlight
+                        .execute("GET /employee", () -> failing)
+                        .map(Object.class::cast)
+                        .onErrorResume(Mono::just))
+                .cast(Throwable.class)
+                .collectList()
+                .block();
+
+        // Then
+        assertEquals(3, errors.size());
+        assertTrue(errors.stream().allMatch(ApiException.class::isInstance));
+        assertEquals("ok", singleFlight.execute("GET /employee", () -> Mono.just("ok")).block());
+    }
+
+    @Test
+    void shouldKeepCallRunningWhenItsOnlyCallerCancels() {
+        // Given
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Sinks.One<String> upstream = Sinks.one();
+        Supplier<Mono<String>> call = () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.asMono().doOnCancel(() -> cancelled.set(true));
+        };
+
+        // When
+        singleFlight.execute("GET /employee", call).subscribe().dispose();
+        CompletableFuture<String> joined = singleFlight.execute("GET /employee", call).toFuture();
+        upstream.tryEmitValue("roster");
+
+        // Then
+        assertFalse(cancelled.get());
+        assertEquals("roster", joined.join());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, singleFlight.merged());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void shouldNotEvictFlightStartedAsPreviousOneEnds() {
+        // Given
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        AtomicReference<CompletableFuture<String>> started = new AtomicReference<>();
+        singleFlight
+                .execute("GET /employee", () -> {
+                    upstreamCalls.incrementAndGet();
+                    return first.asMono();
+                })
+                .subscribe(ignored -> started.set(singleFlight
+                        .execute("GET /employee", () -> {
+                            upstreamCalls.incrementAndGet();
+                            return second.asMono();
+                        })
+                        .toFuture()));
+
+        // When
+        first.tryEmitValue("old roster");
+        CompletableFuture<String> joined = singleFlight
+                .execute("GET /employee", () -> Mono.fromCallable(() -> "call " + upstreamCalls.incrementAndGet()))
+                .toFuture();
+        second.tryEmitValue("new roster");
+
+        // Then
+        assertEquals("new roster", started.get().join());
+        assertEquals("new roster", joined.join());
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+}
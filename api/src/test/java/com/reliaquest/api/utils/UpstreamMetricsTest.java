@@ -0,0 +1,95 @@
+package com.reliaquest.api.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.exception.QuotaExhaustedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class UpstreamMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    private UpstreamMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new UpstreamMetrics(registry);
+    }
+
+    @Test
+    void shouldTimeOperationsByOutcome() {
+        // When
+        metrics.time("getEmployeeById", Mono.just("ok")).block();
+        assertThrows(
+                ApiException.class,
+                () -> metrics.time("getEmployeeById", Mono.error(new ApiException("boom", HttpStatus.BAD_GATEWAY)))
+                        .block());
+
+        // Then
+        assertEquals(1, timerCount("getEmployeeById", "success"));
+        assertEquals(1, timerCount("getEmployeeById", "server_error"));
+        assertEquals(0, registry.get(UpstreamMetrics.IN_FLIGHT_GAUGE)
+                .tag("operation", "getEmployeeById")
+                .gauge()
+                .value());
+    }
+
+    @Test
+    void shouldTagCancelledStreams() {
+        // When
+        metrics.time("getAllEmployees", Flux.range(0, 10)).take(2).blockLast();
+
+        // Then
+        assertEquals(1, timerCount("getAllEmployees", "cancelled"));
+    }
+
+    @Test
+    void shouldClassifyFailures() {
+        assertEquals("success", UpstreamMetrics.outcome(null));
+        assertEquals("quota_exhausted", UpstreamMetrics.outcome(new QuotaExhaustedException(Duration.ofSeconds(5))));
+        assertEquals(
+                "rate_limited",
+                UpstreamMetrics.outcome(new ApiException("limited", HttpStatus.TOO_MANY_REQUESTS)));
+        assertEquals("not_found", UpstreamMetrics.outcome(new ApiException("missing", HttpStatus.NOT_FOUND)));
+        assertEquals("client_error", UpstreamMetrics.outcome(new ApiException("bad", HttpStatus.BAD_REQUEST)));
+        assertEquals("error", UpstreamMetrics.outcome(new IllegalStateException()));
+    }
+
+    @Test
+    void shouldCountErrorsAndRetryEvents() {
+        // When
+        metrics.recordError(HttpStatus.TOO_MANY_REQUESTS);
+        metrics.recordError(HttpStatus.TOO_MANY_REQUESTS);
+        metrics.recordError(HttpStatus.SERVICE_UNAVAILABLE);
+        metrics.onRetryEvent(new RetryEvent("createEmployee", RetryEvent.Type.EXHAUSTED, 3, Duration.ZERO, null));
+
+        // Then
+        assertEquals(2, registry.get(UpstreamMetrics.ERROR_COUNTER)
+                .tags("cause", "rate_limited", "status", "429")
+                .counter()
+                .count());
+        assertEquals(1, registry.get(UpstreamMetrics.ERROR_COUNTER)
+                .tag("cause", "server_error")
+                .counter()
+                .count());
+        assertEquals(1, registry.get(UpstreamMetrics.RETRY_COUNTER)
+                .tags("operation", "createEmployee", "type", "exhausted")
+                .counter()
+                .count());
+    }
+
+    private long timerCount(String operation, String outcome) {
+        return registry.get(UpstreamMetrics.OPERATION_TIMER)
+                .tags("operation", operation, "outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.api.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class UtilsTest {
+
+    @Test
+    void shouldParseRetryAfterSeconds() {
+        assertEquals(Duration.ofSeconds(42), Utils.parseRetryAfter(List.of("42")));
+    }
+
+    @Test
+    void shouldParseRetryAfterHttpDate() {
+        String inOneMinute = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusMinutes(1));
+
+        Duration retryAfter = Utils.parseRetryAfter(List.of(inOneMinute));
+
+        assertTrue(retryAfter.compareTo(Duration.ofSeconds(55)) > 0);
+        assertTrue(retryAfter.compareTo(Duration.ofMinutes(1)) <= 0);
+    }
+
+    @Test
+    void shouldIgnoreMissingOrMalformedRetryAfter() {
+        assertNull(Utils.parseRetryAfter(List.of()));
+        assertNull(Utils.parseRetryAfter(List.of("soon")));
+    }
+}
@@ -0,0 +1,108 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.NameIndex;
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The read paths behind search, highest salary and top ten. The service answers them from {@link NameIndex} and
+ * {@link SalaryIndex}, kept next to the cached roster; the {@code scan*} baselines are the per-request passes over the
+ * whole roster they replaced. {@code build*} is what a roster refresh pays to rebuild an index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+
+    private static final int TOP_EARNERS = 10;
+
+    /** Long enough to go through the trigram postings rather than the short-query scan. */
+    private static final String SEARCH_FRAGMENT = "ashton co";
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private List<EmployeeDTO> roster;
+
+    private NameIndex nameIndex;
+
+    private SalaryIndex salaryIndex;
+
+    @Setup
+    public void setUp() {
+        roster = Rosters.dtos(Rosters.employees(rosterSize));
+        nameIndex = NameIndex.of(roster);
+        salaryIndex = SalaryIndex.of(roster);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> search() {
+        return nameIndex.search(SEARCH_FRAGMENT);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> scanSearch() {
+        String fragment = SEARCH_FRAGMENT.toLowerCase();
+        return roster.stream()
+                .filter(employee -> employee.getName() != null
+                        && employee.getName().toLowerCase().contains(fragment))
+                .toList();
+    }
+
+    @Benchmark
+    public int highestSalary() {
+        return salaryIndex.highestSalary();
+    }
+
+    @Benchmark
+    public int scanHighestSalary() {
+        return roster.stream()
+                .map(EmployeeDTO::getSalary)
+                .filter(Objects::nonNull)
+                .max(Integer::compare)
+                .orElse(0);
+    }
+
+    @Benchmark
+    public List<String> topTen() {
+        return salaryIndex.topEarnerNames(TOP_EARNERS);
+    }
+
+    @Benchmark
+    public List<String> scanTopTen() {
+        return roster.stream()
+                .filter(employee -> employee.getSalary() != null)
+                .sorted(Comparator.comparing(EmployeeDTO::getSalary).reversed())
+                .limit(TOP_EARNERS)
+                .map(EmployeeDTO::getName)
+                .toList();
+    }
+
+    @Benchmark
+    public NameIndex buildNameIndex() {
+        return NameIndex.of(roster);
+    }
+
+    @Benchmark
+    public SalaryIndex buildSalaryIndex() {
+        return SalaryIndex.of(roster);
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.api.response.EmployeeListResponse;
+import com.reliaquest.api.dto.api.response.EmployeeResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Jackson databind of upstream payloads into the api's response types: the whole roster and a single employee. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonDecodeBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private ObjectReader listReader;
+
+    private ObjectReader singleReader;
+
+    private byte[] list;
+
+    private byte[] single;
+
+    @Setup
+    public void setUp() {
+        List<Map<String, Object>> employees = Rosters.employees(rosterSize);
+        list = Rosters.listResponse(employees);
+        single = Rosters.singleResponse(employees.get(0));
+        listReader = mapper.readerFor(EmployeeListResponse.class);
+        singleReader = mapper.readerFor(EmployeeResponse.class);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> decodeList() throws IOException {
+        EmployeeListResponse response = listReader.readValue(list);
+        return response.getData();
+    }
+
+    /** Independent of {@code rosterSize}; parameterized only so every result row has the same shape. */
+    @Benchmark
+    public EmployeeDTO decodeSingle() throws IOException {
+        EmployeeResponse response = singleReader.readValue(single);
+        return response.getData();
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.service.RosterEventPublisher;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The server's by-id lookup and by-name delete over rosters far larger than the default 20 employees. Targets are
+ * picked uniformly at random. {@code @Threads(4)} on the contended variants shows whether the store scales with cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private List<MockEmployee> employees;
+
+    private MockEmployeeStore store;
+
+    private MockEmployeeService service;
+
+    private RosterEventPublisher publisher;
+
+    @Setup
+    public void setUp() {
+        employees = Rosters.mockEmployees(Rosters.employees(rosterSize));
+        store = MockEmployeeStore.of(employees);
+        // No subscribers: publishing a change costs the event allocation only.
+        publisher = new RosterEventPublisher(store, 0L, 60_000L, 1024);
+        service = new MockEmployeeService(new Faker(Locale.ROOT), store, publisher);
+    }
+
+    @TearDown
+    public void tearDown() {
+        publisher.close();
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return service.findById(pick().getId());
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findByUnknownId() {
+        return service.findById(UUID.randomUUID());
+    }
+
+    /** Deletes a random employee and puts it back, so the roster size stays at {@code rosterSize}. */
+    @Benchmark
+    public boolean deleteAndRestore() {
+        MockEmployee employee = pick();
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(employee.getName());
+        boolean deleted = service.delete(input);
+        if (deleted) {
+            store.add(employee);
+        }
+        return deleted;
+    }
+
+    /** What serializing {@code GET /api/v1/employee} walks: one version of the roster, start to end. */
+    @Benchmark
+    public long iterateSnapshot() {
+        long salaries = 0;
+        for (MockEmployee employee : service.getSnapshot().employees()) {
+            salaries += employee.getSalary();
+        }
+        return salaries;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<MockEmployee> findByIdContended() {
+        return service.findById(pick().getId());
+    }
+
+    /** Four threads deleting and restoring while sharing the store; a thread may lose its pick to another. */
+    @Benchmark
+    @Threads(4)
+    public boolean deleteAndRestoreContended() {
+        return deleteAndRestore();
+    }
+
+    private MockEmployee pick() {
+        return employees.get(ThreadLocalRandom.current().nextInt(employees.size()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * {@link RandomRequestLimitInterceptor#preHandle} hit by many request threads at once, all sharing one interceptor as
+ * they do in the server. The limit is used up within the first few calls, so this measures the rejection path, which
+ * is what the server spends its time on under load.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLimitInterceptorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        final RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor();
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        MockHttpServletRequest request;
+
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/api/v1/employee");
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean uncontended(Shared shared, Exchange exchange) {
+        return shared.interceptor.preHandle(exchange.request, exchange.response, null);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean contended(Shared shared, Exchange exchange) {
+        return shared.interceptor.preHandle(exchange.request, exchange.response, null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/** Deterministic synthetic rosters in the mock server's wire format, shared by the benchmarks. */
+final class Rosters {
+
+    private static final String[] FIRST_NAMES = {"Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod"};
+
+    private static final String[] LAST_NAMES = {"Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler"};
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Rosters() {}
+
+    /** {@code size} employees as the server's {@code employee_*} maps, in a fixed order for a given size. */
+    static List<Map<String, Object>> employees(int size) {
+        Random random = new Random(size);
+        List<Map<String, Object>> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i;
+            Map<String, Object> employee = new LinkedHashMap<>();
+            employee.put("id", new UUID(size, i).toString());
+            employee.put("employee_name", name);
+            employee.put("employee_salary", 30_000 + random.nextInt(470_000));
+            employee.put("employee_age", 18 + random.nextInt(50));
+            employee.put("employee_title", "Engineer " + random.nextInt(5));
+            employee.put("employee_email", "employee" + i + "@company.com");
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    /** The same roster as {@link #employees}, as the api holds it. */
+    static List<EmployeeDTO> dtos(List<Map<String, Object>> employees) {
+        List<EmployeeDTO> dtos = new ArrayList<>(employees.size());
+        for (Map<String, Object> employee : employees) {
+            EmployeeDTO dto = new EmployeeDTO();
+            dto.setId(UUID.fromString((String) employee.get("id")));
+            dto.setName((String) employee.get("employee_name"));
+            dto.setSalary((Integer) employee.get("employee_salary"));
+            dto.setAge((Integer) employee.get("employee_age"));
+            dto.setTitle((String) employee.get("employee_title"));
+            dto.setEmail((String) employee.get("employee_email"));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    /** The same roster as {@link #employees}, as the server holds it, in a list the server may modify. */
+    static List<MockEmployee> mockEmployees(List<Map<String, Object>> employees) {
+        List<MockEmployee> mockEmployees = new ArrayList<>(employees.size());
+        for (Map<String, Object> employee : employees) {
+            mockEmployees.add(MockEmployee.builder()
+                    .id(UUID.fromString((String) employee.get("id")))
+                    .name((String) employee.get("employee_name"))
+                    .salary((Integer) employee.get("employee_salary"))
+                    .age((Integer) employee.get("employee_age"))
+                    .title((String) employee.get("employee_title"))
+                    .email((String) employee.get("employee_email"))
+                    .build());
+        }
+        return mockEmployees;
+    }
+
+    /** The body of {@code GET /api/v1/employee}. */
+    static byte[] listResponse(List<Map<String, Object>> employees) {
+        return envelope(employees);
+    }
+
+    /** The body of {@code GET /api/v1/employee/{id}}. */
+    static byte[] singleResponse(Map<String, Object> employee) {
+        return envelope(employee);
+    }
+
+    private static byte[] envelope(Object data) {
+        try {
+            return MAPPER.writeValueAsBytes(Map.of("data", data, "status", "Successfully processed request."));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
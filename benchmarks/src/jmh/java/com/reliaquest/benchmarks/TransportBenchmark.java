@@ -0,0 +1,124 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.client.EmployeeServerClient;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.utils.CustomRetryListener;
+import com.reliaquest.api.utils.ReactiveRetry;
+import com.reliaquest.api.utils.UpstreamMetrics;
+import com.reliaquest.api.utils.Utils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Round trips of {@link EmployeeServerClient} over NIO versus the native transport (io_uring or epoll, whichever is on
+ * the classpath), against an in-process Reactor Netty server that answers with canned mock-server payloads. The real
+ * server is not used: its request limit would turn the measurement into one of 429 handling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark {
+
+    @Param({"nio", "native"})
+    public String transport;
+
+    @Param({"50", "10000"})
+    public int rosterSize;
+
+    private LoopResources serverLoop;
+
+    private LoopResources clientLoop;
+
+    private ConnectionProvider connectionProvider;
+
+    private DisposableServer server;
+
+    private EmployeeServerClient client;
+
+    private String employeeId;
+
+    @Setup
+    public void setUp() {
+        boolean preferNative = "native".equals(transport);
+        if (preferNative && !LoopResources.hasNativeSupport()) {
+            throw new IllegalStateException("No native transport available on this platform");
+        }
+        List<Map<String, Object>> employees = Rosters.employees(rosterSize);
+        byte[] list = Rosters.listResponse(employees);
+        byte[] single = Rosters.singleResponse(employees.get(0));
+        employeeId = (String) employees.get(0).get("id");
+
+        serverLoop = LoopResources.create("bench-server", 1, true);
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .runOn(serverLoop, preferNative)
+                .route(routes -> routes.get("/api/v1/employee", (request, response) -> response.header(
+                                        HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendByteArray(Mono.just(list)))
+                        .get("/api/v1/employee/{id}", (request, response) -> response.header(
+                                        HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendByteArray(Mono.just(single))))
+                .bindNow();
+
+        clientLoop = LoopResources.create("bench-client", 1, true);
+        connectionProvider = ConnectionProvider.create("bench-client", 16);
+        HttpClient httpClient = HttpClient.create(connectionProvider).runOn(clientLoop, preferNative);
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        UpstreamMetrics metrics = new UpstreamMetrics(new SimpleMeterRegistry());
+        ReactiveRetry noRetry = new ReactiveRetry(new CustomRetryListener(event -> {}), metrics, 1, 0, 1.0, 0, false);
+        client = new EmployeeServerClient(webClient, new Utils(metrics), noRetry);
+        Field baseUrl = ReflectionUtils.findField(EmployeeServerClient.class, "serverBaseUrl");
+        ReflectionUtils.makeAccessible(baseUrl);
+        ReflectionUtils.setField(baseUrl, client, "http://127.0.0.1:" + server.port() + "/api/v1");
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.disposeNow();
+        connectionProvider.dispose();
+        clientLoop.dispose();
+        serverLoop.dispose();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> getAllEmployees() {
+        return client.getAllEmployees().block();
+    }
+
+    @Benchmark
+    public EmployeeDTO getEmployeeById() {
+        return client.getEmployeeById(employeeId).block();
+    }
+}
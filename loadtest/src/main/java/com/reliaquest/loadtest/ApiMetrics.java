@@ -0,0 +1,74 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Reads the api's upstream counters from {@code /actuator/metrics}. Attempts are upstream operations plus the retries
+ * scheduled for them, so attempts per load-test request is the retry amplification net of caching and coalescing.
+ */
+final class ApiMetrics {
+
+    private final HttpClient client;
+
+    private final URI metrics;
+
+    private final ObjectMapper mapper;
+
+    ApiMetrics(HttpClient client, URI apiUrl, ObjectMapper mapper) {
+        this.client = client;
+        this.metrics = apiUrl.resolve("/actuator/metrics/");
+        this.mapper = mapper;
+    }
+
+    /** Current totals, or {@code null} when the api does not expose them. */
+    Results.UpstreamCounts snapshot() {
+        try {
+            long operations = count("upstream.operation");
+            long retries = count("upstream.retries?tag=type:retry_scheduled");
+            long rateLimited = count("upstream.errors?tag=cause:rate_limited");
+            return new Results.UpstreamCounts(operations + retries, rateLimited);
+        } catch (IOException e) {
+            System.err.println("Upstream metrics unavailable: " + e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    static Results.UpstreamCounts between(Results.UpstreamCounts before, Results.UpstreamCounts after) {
+        if (before == null || after == null) {
+            return null;
+        }
+        return new Results.UpstreamCounts(
+                after.attempts() - before.attempts(), after.rateLimited() - before.rateLimited());
+    }
+
+    /** The {@code COUNT} statistic of a meter; {@code 0} for one that has not been registered yet. */
+    private long count(String meter) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(metrics.resolve(meter))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            return 0;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException(meter + " answered " + response.statusCode());
+        }
+        for (JsonNode measurement : mapper.readTree(response.body()).path("measurements")) {
+            if ("COUNT".equals(measurement.path("statistic").asText())) {
+                return measurement.path("value").asLong();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Open-model driver: requests arrive on a schedule set by {@code --rate} and {@code --arrivals} whether or not earlier
+ * ones have been answered, the way independent users arrive in production. A closed loop of N workers would instead
+ * slow down with the api and understate its latency under load.
+ */
+final class LoadGenerator {
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final HttpClient client;
+
+    private final Workload workload;
+
+    private final LoadTestOptions options;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadGenerator(HttpClient client, Workload workload, LoadTestOptions options) {
+        this.client = client;
+        this.workload = workload;
+        this.options = options;
+    }
+
+    /** Issues arrivals for {@code durationNanos}, waits for the stragglers, and returns the elapsed time. */
+    long run(long durationNanos, Results results) {
+        RandomGenerator random = ThreadLocalRandom.current();
+        long meanGapNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate());
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        long arrival = start;
+        while (arrival < end) {
+            long now;
+            while ((now = System.nanoTime()) < arrival) {
+                LockSupport.parkNanos(arrival - now);
+            }
+            fire(arrival, random, results);
+            arrival += options.poisson() ? (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos) : meanGapNanos;
+        }
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void fire(long scheduledAt, RandomGenerator random, Results results) {
+        if (inFlight.get() >= options.maxInFlight()) {
+            results.recordDropped();
+            return;
+        }
+        Workload.Call call = workload.next(options.mix().pick(random), random);
+        inFlight.incrementAndGet();
+        client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            long latency = System.nanoTime() - scheduledAt;
+            if (failure != null) {
+                results.recordFailure(call.operation(), latency);
+            } else {
+                results.record(call.operation(), response.statusCode(), latency);
+                workload.onResponse(call, response.statusCode(), response.body());
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+}
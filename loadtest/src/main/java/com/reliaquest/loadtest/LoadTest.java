@@ -0,0 +1,88 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives {@code /v1/employee} with a configurable mix at an open-model arrival rate and reports throughput, latency
+ * percentiles, the 429 rate and the api's retry amplification. See {@link LoadTestOptions} for the arguments.
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+
+        LocalStack stack = options.bootsApplications() ? LocalStack.start(options, client) : null;
+        try {
+            Workload workload = new Workload(options.apiUrl(), mapper);
+            seed(client, workload, options, mapper);
+            LoadGenerator generator = new LoadGenerator(client, workload, options);
+            ApiMetrics apiMetrics = new ApiMetrics(client, options.apiUrl(), mapper);
+
+            System.out.printf("Warming up for %s at %.1f/s (%s)%n", options.warmup(), options.rate(), options.mix());
+            generator.run(options.warmup().toNanos(), new Results());
+
+            System.out.printf("Measuring for %s%n", options.duration());
+            Results results = new Results();
+            Results.UpstreamCounts before = apiMetrics.snapshot();
+            long elapsed = generator.run(options.duration().toNanos(), results);
+            Results.UpstreamCounts upstream = ApiMetrics.between(before, apiMetrics.snapshot());
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("apiProfile", options.apiProfile() == null ? "default" : options.apiProfile());
+            report.put("mix", options.mix().name());
+            report.put("rate", options.rate());
+            report.put("arrivals", options.poisson() ? "poisson" : "uniform");
+            report.put("durationSeconds", options.duration().toSeconds());
+            report.putAll(results.report(elapsed, upstream));
+            write(report, options.output(), mapper);
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /** Reads the roster once so by-id reads, searches and deletes target real employees. */
+    private static void seed(HttpClient client, Workload workload, LoadTestOptions options, ObjectMapper mapper)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(options.apiUrl().resolve("/v1/employee"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200) {
+            workload.seed(mapper.readTree(response.body()));
+        }
+        System.out.printf(
+                "Seeded with %d employees (roster answered %d)%n", workload.knownEmployees(), response.statusCode());
+    }
+
+    private static void write(Map<String, Object> report, Path output, ObjectMapper mapper) throws IOException {
+        Files.createDirectories(output);
+        Path file = output.resolve("report.json");
+        String json = mapper.writeValueAsString(report);
+        Files.writeString(file, json);
+        System.out.println(json);
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+}
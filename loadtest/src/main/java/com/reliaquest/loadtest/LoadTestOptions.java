@@ -0,0 +1,118 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of {@link LoadTest}, as {@code --name=value} pairs:
+ *
+ * <ul>
+ *   <li>{@code --mix}: {@code read-heavy} (default), {@code write-heavy} or {@code search-heavy}.
+ *   <li>{@code --rate}: arrivals per second, independent of how fast the api answers. Default 20.
+ *   <li>{@code --arrivals}: {@code poisson} (default) or {@code uniform} spacing.
+ *   <li>{@code --warmup}, {@code --duration}: ISO-8601 or {@code 30s} / {@code 2m}. Defaults 10s and 60s.
+ *   <li>{@code --max-in-flight}: outstanding requests beyond which arrivals are dropped and counted. Default 10000.
+ *   <li>{@code --api-url}: default {@code http://localhost:8111}.
+ *   <li>{@code --server-jar}, {@code --api-jar}: boot both applications from these jars; without them the api (and
+ *       the server behind it) must already be running.
+ *   <li>{@code --api-profile}: Spring profiles to boot the api with, such as {@code virtual} or {@code reactive};
+ *       default none, the platform-thread servlet stack. Recorded in the report.
+ *   <li>{@code --api-arg}: one more argument for the booted api, such as {@code --api-arg=--logging.level.root=WARN};
+ *       may be repeated.
+ *   <li>{@code --output}: directory for {@code report.json} and the applications' logs. Default {@code build/loadtest}.
+ * </ul>
+ */
+record LoadTestOptions(
+        Mix mix,
+        double rate,
+        boolean poisson,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        URI apiUrl,
+        Path serverJar,
+        Path apiJar,
+        String apiProfile,
+        List<String> apiArgs,
+        Path output) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> apiArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (name.equals("api-arg")) {
+                apiArgs.add(arg.substring(eq + 1));
+            } else {
+                values.put(name, arg.substring(eq + 1));
+            }
+        }
+        String arrivals = values.getOrDefault("arrivals", "poisson");
+        if (!arrivals.equals("poisson") && !arrivals.equals("uniform")) {
+            throw new IllegalArgumentException("Unknown arrivals " + arrivals);
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Mix.parse(values.getOrDefault("mix", "read-heavy")),
+                Double.parseDouble(values.getOrDefault("rate", "20")),
+                arrivals.equals("poisson"),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                URI.create(values.getOrDefault("api-url", "http://localhost:8111")),
+                path(values.get("server-jar")),
+                path(values.get("api-jar")),
+                values.get("api-profile"),
+                List.copyOf(apiArgs),
+                Path.of(values.getOrDefault("output", "build/loadtest")));
+        if (options.rate() <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if ((options.serverJar() == null) != (options.apiJar() == null)) {
+            throw new IllegalArgumentException("--server-jar and --api-jar go together");
+        }
+        if (options.serverJar() == null && (options.apiProfile() != null || !options.apiArgs().isEmpty())) {
+            throw new IllegalArgumentException("--api-profile and --api-arg need --api-jar to boot the api with");
+        }
+        return options;
+    }
+
+    boolean bootsApplications() {
+        return serverJar != null;
+    }
+
+    /** Arguments for the booted api beyond its port and upstream: the profile first, then any {@code --api-arg}. */
+    List<String> apiLaunchArgs() {
+        List<String> launchArgs = new ArrayList<>();
+        if (apiProfile != null) {
+            launchArgs.add("--spring.profiles.active=" + apiProfile);
+        }
+        launchArgs.addAll(apiArgs);
+        return launchArgs;
+    }
+
+    private static Duration duration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unknown duration " + value);
+        };
+    }
+
+    private static Path path(String value) {
+        return value == null ? null : Path.of(value);
+    }
+}
@@ -0,0 +1,124 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The mock server and the api, each started from its boot jar in a JVM of its own and stopped on {@link #close()}.
+ * Their output goes to {@code server.log} and {@code api.log} in the output directory. The api gets the options'
+ * profile and extra arguments, so the same run can be repeated against each of its runtime modes.
+ */
+final class LocalStack implements AutoCloseable {
+
+    private static final int SERVER_PORT = 8112;
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    private final List<Process> processes = new ArrayList<>();
+
+    static LocalStack start(LoadTestOptions options, HttpClient client) throws IOException, InterruptedException {
+        Files.createDirectories(options.output());
+        LocalStack stack = new LocalStack();
+        Runtime.getRuntime().addShutdownHook(new Thread(stack::close));
+        try {
+            stack.launch(options.serverJar(), options.output().resolve("server.log"));
+            // The server's rate limit counts every request, so readiness is probed at the socket.
+            stack.await("server", () -> portOpen(SERVER_PORT));
+            int apiPort = options.apiUrl().getPort() < 0 ? 80 : options.apiUrl().getPort();
+            List<String> apiArgs = new ArrayList<>(List.of(
+                    "--server.port=" + apiPort, "--server.api.url=http://localhost:" + SERVER_PORT + "/api/v1"));
+            apiArgs.addAll(options.apiLaunchArgs());
+            stack.launch(options.apiJar(), options.output().resolve("api.log"), apiArgs.toArray(String[]::new));
+            URI health = options.apiUrl().resolve("/actuator/health");
+            stack.await("api", () -> isUp(client, health));
+            return stack;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    private void launch(Path jar, Path log, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(List.of(args));
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start());
+    }
+
+    private void await(String name, Probe probe) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            for (Process process : processes) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(name + " startup failed: a process exited with "
+                            + process.exitValue() + ", see its log");
+                }
+            }
+            if (probe.ready()) {
+                System.out.println(name + " is up");
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " did not start within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public synchronized void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+
+    private static boolean portOpen(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), 500);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isUp(HttpClient client, URI health) throws InterruptedException {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(health)
+                    .timeout(Duration.ofSeconds(2))
+                    .GET()
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Probe {
+        boolean ready() throws InterruptedException;
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.loadtest;
+
+import java.util.random.RandomGenerator;
+
+/** Relative weights of each {@link Operation}, in declaration order. */
+enum Mix {
+    READ_HEAVY(25, 40, 10, 10, 10, 3, 2),
+    WRITE_HEAVY(10, 15, 5, 5, 5, 35, 25),
+    SEARCH_HEAVY(5, 10, 70, 5, 5, 3, 2);
+
+    private final int[] cumulative;
+
+    Mix(int... weights) {
+        if (weights.length != Operation.values().length) {
+            throw new IllegalArgumentException("One weight per operation expected");
+        }
+        cumulative = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+    }
+
+    Operation pick(RandomGenerator random) {
+        int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (ticket < cumulative[i]) {
+                return Operation.values()[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /** Accepts {@code read-heavy} as well as {@code READ_HEAVY}. */
+    static Mix parse(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.loadtest;
+
+/** The api calls a load test can issue, one per {@code /v1/employee} endpoint. */
+enum Operation {
+    LIST,
+    BY_ID,
+    SEARCH,
+    HIGHEST_SALARY,
+    TOP_TEN,
+    CREATE,
+    DELETE;
+
+    String label() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
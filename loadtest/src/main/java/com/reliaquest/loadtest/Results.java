@@ -0,0 +1,142 @@
+package com.reliaquest.loadtest;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and outcome of every request in one phase of a run, per operation. Latency runs from when the request was
+ * scheduled to arrive, not from when it was sent, so a backed-up client does not hide a slow api.
+ */
+final class Results {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Operation, PerOperation> operations = new EnumMap<>(Operation.class);
+
+    private final LongAdder dropped = new LongAdder();
+
+    Results() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new PerOperation());
+        }
+    }
+
+    void record(Operation operation, int status, long latencyNanos) {
+        PerOperation results = operations.get(operation);
+        results.latency.recordValue(micros(latencyNanos));
+        if (status == 429) {
+            results.rateLimited.increment();
+        } else if (status >= 500) {
+            results.serverErrors.increment();
+        } else if (status >= 400) {
+            results.clientErrors.increment();
+        } else {
+            results.ok.increment();
+        }
+    }
+
+    void recordFailure(Operation operation, long latencyNanos) {
+        PerOperation results = operations.get(operation);
+        results.latency.recordValue(micros(latencyNanos));
+        results.failures.increment();
+    }
+
+    /** An arrival not sent because too many requests were already outstanding. */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /** Report for a phase that lasted {@code elapsedNanos}, with {@code upstream} attempts counted by the api. */
+    Map<String, Object> report(long elapsedNanos, UpstreamCounts upstream) {
+        double seconds = elapsedNanos / 1e9;
+        Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+        Map<String, Object> perOperation = new LinkedHashMap<>();
+        long total = 0;
+        long rateLimited = 0;
+        for (Map.Entry<Operation, PerOperation> entry : operations.entrySet()) {
+            PerOperation results = entry.getValue();
+            Histogram latency = results.latency.copy();
+            if (latency.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(latency);
+            total += latency.getTotalCount();
+            rateLimited += results.rateLimited.sum();
+            perOperation.put(entry.getKey().label(), summary(latency, seconds, results));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", total);
+        report.put("dropped", dropped.sum());
+        report.put("throughputPerSecond", round(total / seconds));
+        report.putAll(percentiles(all));
+        report.put("rateLimitedRatio", ratio(rateLimited, total));
+        if (upstream != null) {
+            report.put("upstreamAttempts", upstream.attempts());
+            report.put("upstreamRateLimited", upstream.rateLimited());
+            report.put("retryAmplification", ratio(upstream.attempts(), total));
+        }
+        report.put("operations", perOperation);
+        return report;
+    }
+
+    private static Map<String, Object> summary(Histogram latency, double seconds, PerOperation results) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", latency.getTotalCount());
+        summary.put("throughputPerSecond", round(latency.getTotalCount() / seconds));
+        summary.putAll(percentiles(latency));
+        summary.put("ok", results.ok.sum());
+        summary.put("rateLimited", results.rateLimited.sum());
+        summary.put("clientErrors", results.clientErrors.sum());
+        summary.put("serverErrors", results.serverErrors.sum());
+        summary.put("failures", results.failures.sum());
+        return summary;
+    }
+
+    private static Map<String, Object> percentiles(Histogram latency) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50Ms", millis(latency.getValueAtPercentile(50)));
+        percentiles.put("p99Ms", millis(latency.getValueAtPercentile(99)));
+        percentiles.put("p999Ms", millis(latency.getValueAtPercentile(99.9)));
+        percentiles.put("maxMs", millis(latency.getMaxValue()));
+        return percentiles;
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(MAX_LATENCY_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0 : Math.round(part * 10_000.0 / whole) / 10_000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /** Upstream work the api did during a phase, from its own metrics. */
+    record UpstreamCounts(long attempts, long rateLimited) {}
+
+    private static final class PerOperation {
+
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+
+        private final LongAdder ok = new LongAdder();
+
+        private final LongAdder rateLimited = new LongAdder();
+
+        private final LongAdder clientErrors = new LongAdder();
+
+        private final LongAdder serverErrors = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+    }
+}
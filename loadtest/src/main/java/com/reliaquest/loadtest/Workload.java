@@ -0,0 +1,150 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Turns operations into concrete requests against the api. By-id reads and searches draw on the roster seen at the
+ * start of the run plus everything created since; deletes only remove employees this run created, so the seeded roster
+ * survives a write-heavy mix. A delete with nothing of its own to remove becomes a create.
+ */
+final class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final String[] TITLES = {"Engineer", "Analyst", "Manager", "Designer", "Consultant"};
+
+    private final URI employees;
+
+    private final ObjectMapper mapper;
+
+    private final List<String> knownIds = new ArrayList<>();
+
+    private final List<String> searchFragments = new ArrayList<>();
+
+    private final Deque<String> createdIds = new ConcurrentLinkedDeque<>();
+
+    private final AtomicLong createdNames = new AtomicLong();
+
+    Workload(URI apiUrl, ObjectMapper mapper) {
+        this.employees = apiUrl.resolve("/v1/employee");
+        this.mapper = mapper;
+    }
+
+    record Call(Operation operation, HttpRequest request) {}
+
+    /** Learns ids and name fragments from a roster as returned by {@code GET /v1/employee}. */
+    synchronized void seed(JsonNode roster) {
+        for (JsonNode employee : roster) {
+            knownIds.add(employee.path("id").asText());
+            for (String part : employee.path("name").asText().split("\\s+")) {
+                if (part.length() >= 3) {
+                    searchFragments.add(part.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+    }
+
+    synchronized int knownEmployees() {
+        return knownIds.size();
+    }
+
+    Call next(Operation operation, RandomGenerator random) {
+        return switch (operation) {
+            case LIST -> get(operation, employees);
+            case BY_ID -> get(operation, child(randomId(random)));
+            case SEARCH -> get(operation, child("search/" + encode(randomFragment(random))));
+            case HIGHEST_SALARY -> get(operation, child("highestSalary"));
+            case TOP_TEN -> get(operation, child("topTenHighestEarningEmployeeNames"));
+            case CREATE -> create(random);
+            case DELETE -> {
+                String id = createdIds.pollFirst();
+                if (id == null) {
+                    yield create(random);
+                }
+                forget(id);
+                yield new Call(operation, request(child(id)).DELETE().build());
+            }
+        };
+    }
+
+    /** Tracks employees created by {@code call}; other responses carry nothing the workload needs. */
+    void onResponse(Call call, int status, String body) {
+        if (call.operation() != Operation.CREATE || status / 100 != 2) {
+            return;
+        }
+        try {
+            String id = mapper.readTree(body).path("id").asText(null);
+            if (id != null) {
+                synchronized (this) {
+                    knownIds.add(id);
+                }
+                createdIds.addLast(id);
+            }
+        } catch (IOException ignored) {
+            // Not an employee; nothing to track.
+        }
+    }
+
+    private Call create(RandomGenerator random) {
+        Map<String, Object> employee = Map.of(
+                "name", "Load Test " + createdNames.incrementAndGet(),
+                "salary", 30_000 + random.nextInt(470_000),
+                "age", 18 + random.nextInt(50),
+                "title", TITLES[random.nextInt(TITLES.length)]);
+        try {
+            HttpRequest request = request(employees)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(employee)))
+                    .build();
+            return new Call(Operation.CREATE, request);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Call get(Operation operation, URI uri) {
+        return new Call(operation, request(uri).GET().build());
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).header("Accept", "application/json");
+    }
+
+    private URI child(String path) {
+        return URI.create(employees + "/" + path);
+    }
+
+    private synchronized String randomId(RandomGenerator random) {
+        return knownIds.isEmpty()
+                ? UUID.randomUUID().toString()
+                : knownIds.get(random.nextInt(knownIds.size()));
+    }
+
+    private synchronized String randomFragment(RandomGenerator random) {
+        return searchFragments.isEmpty() ? "a" : searchFragments.get(random.nextInt(searchFragments.size()));
+    }
+
+    private synchronized void forget(String id) {
+        knownIds.remove(id);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -1,9 +1,9 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -14,6 +14,7 @@ import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -30,11 +31,20 @@ public class ServerConfiguration implements WebMvcConfigurer {
         return new Faker(Locale.getDefault());
     }
 
+    /** Employees are written whole unless a request narrows them with {@code ?fields=}. */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer mockEmployeeFieldsFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Seeded with random employees and modified by the CRUD operations, remembering the last change-log-size of them.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public MockEmployeeStore mockEmployeeStore(
+            Faker faker,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.change-log-size:10000}") int changeLogSize) {
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
                 Field.field("id", UUID::randomUUID),
@@ -49,11 +59,13 @@ public class ServerConfiguration implements WebMvcConfigurer {
         return IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+                .collect(Collectors.collectingAndThen(
+                        Collectors.toList(), employees -> MockEmployeeStore.of(employees, changeLogSize)));
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        // The event stream is one long-lived request, not a request per read.
+        registry.addInterceptor(new RandomRequestLimitInterceptor()).excludePathPatterns("/api/v1/employee/events");
     }
 }
@@ -0,0 +1,54 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies {@code ?fields=} to any employee response: only the listed properties of each {@link MockEmployee} are
+ * serialized, named either way {@link MockEmployee#jsonName} accepts, plus {@code id} so every projection still
+ * identifies its employee. The rest are skipped by the bean serializer rather than written and dropped, so bytes and
+ * serialization work shrink with the projection. An unknown field name is a 400.
+ */
+@ControllerAdvice(assignableTypes = MockEmployeeController.class)
+public class EmployeeFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FIELDS_PARAM = "fields";
+
+    private static final String ID_FIELD = "id";
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            MappingJacksonValue bodyContainer,
+            MediaType contentType,
+            MethodParameter returnType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAM);
+        if (fields == null || fields.isBlank()) {
+            return;
+        }
+        Set<String> jsonNames = Stream.concat(Stream.of(ID_FIELD), Arrays.stream(fields.split(",")))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .map(MockEmployee::jsonName)
+                .collect(Collectors.toSet());
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(MockEmployee.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(jsonNames)));
+    }
+}
@@ -5,11 +5,15 @@ import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,25 +21,118 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    /** Version of the roster a list response was taken from; it changes with every create and delete. */
+    public static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+
+    /** Run the roster version belongs to: versions restart from zero when the server does. */
+    public static final String ROSTER_EPOCH_HEADER = "X-Roster-Epoch";
+
+    /** Cursor to pass as {@code cursor} for the next page; absent on the last page. */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /** Comma-separated cursors of the pages after this one, for fetching them in parallel with {@code until}. */
+    public static final String PAGE_CURSORS_HEADER = "X-Page-Cursors";
+
     private final MockEmployeeService mockEmployeeService;
 
+    /**
+     * The whole roster, or with {@code limit} one page of it: employees after {@code cursor} (from the start if
+     * absent) and, when given, up to and including {@code until}. Cursors are opaque and stay valid across writes.
+     *
+     * <p>The ETag is the roster epoch and version, so an {@code If-None-Match} naming it is answered with a bodiless
+     * 304 until the next create or delete, and never by a restarted server.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "until", required = false) Long until,
+            HttpServletRequest request) {
+        if (limit == null) {
+            final var snapshot = mockEmployeeService.getSnapshot();
+            return ResponseEntity.ok()
+                    .eTag(etag(rosterVersion(snapshot.version()), request))
+                    .header(ROSTER_EPOCH_HEADER, mockEmployeeService.getEpoch())
+                    .header(ROSTER_VERSION_HEADER, String.valueOf(snapshot.version()))
+                    .body(Response.handledWith(snapshot.employees()));
+        }
+        final var page = mockEmployeeService.getPage(cursor, until, limit);
+        final var response = ResponseEntity.ok()
+                .eTag(etag(rosterVersion(page.version()), request))
+                .header(ROSTER_EPOCH_HEADER, mockEmployeeService.getEpoch())
+                .header(ROSTER_VERSION_HEADER, String.valueOf(page.version()));
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        if (!page.pageCursors().isEmpty()) {
+            response.header(
+                    PAGE_CURSORS_HEADER,
+                    page.pageCursors().stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        return response.body(Response.handledWith(page.employees()));
+    }
+
+    /**
+     * Up to {@code limit} creates and deletes after roster version {@code since} of run {@code epoch}, oldest first.
+     * {@code resync} says the server no longer remembers that far back, or restarted, and the roster must be read
+     * again in full; otherwise the feed's {@code version} is the one to ask from next.
+     */
+    @GetMapping("/changes")
+    public Response<MockEmployeeStore.ChangeFeed> getChanges(
+            @RequestParam(name = "since") long since,
+            @RequestParam(name = "epoch", required = false) String epoch,
+            @RequestParam(name = "limit", defaultValue = "1000") int limit) {
+        return Response.handledWith(mockEmployeeService.getChanges(epoch, since, limit));
+    }
+
+    /**
+     * Server-Sent Events for every create and delete from now on, opened and punctuated by the roster's current epoch
+     * and version. Not subject to the request limit: one long-lived subscription replaces polling.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return mockEmployeeService.subscribeToChanges();
+    }
+
+    /** The highest salary on the roster; no {@code data} when nobody has one. */
+    @GetMapping("/salary/max")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.getHighestSalary().orElse(null));
+    }
+
+    /** The {@code limit} best paid employees, highest salary first and ties in roster order. */
+    @GetMapping("/salary/top")
+    public Response<List<MockEmployee>> getTopEarners(@RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(mockEmployeeService.getTopEarners(limit));
+    }
+
+    /** Up to {@code limit} employees earning between {@code min} and {@code max} inclusive, highest salary first. */
+    @GetMapping("/salary/range")
+    public Response<List<MockEmployee>> getEmployeesBySalary(
+            @RequestParam(name = "min", required = false) Integer min,
+            @RequestParam(name = "max", required = false) Integer max,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return Response.handledWith(mockEmployeeService.getBySalaryRange(min, max, limit));
     }
 
+    /** Employees never change once created, so the id itself is a strong ETag for as long as the employee exists. */
     @GetMapping("/{id}")
-    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+    public ResponseEntity<Response<MockEmployee>> getEmployee(
+            @PathVariable("id") UUID uuid, HttpServletRequest request) {
         return mockEmployeeService
                 .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(etag(employee.getId().toString(), request))
+                        .body(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
@@ -48,4 +145,17 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    private String rosterVersion(long version) {
+        return mockEmployeeService.getEpoch() + ":" + version;
+    }
+
+    /**
+     * Strong ETag for {@code version}, told apart per query string because paging and {@code fields} change the body.
+     * Spring answers a matching {@code If-None-Match} with 304 before anything is serialized.
+     */
+    private static String etag(String version, HttpServletRequest request) {
+        String query = request.getQueryString();
+        return "\"" + (query == null ? version : version + "-" + Integer.toHexString(query.hashCode())) + "\"";
+    }
 }
@@ -1,7 +1,9 @@
 package com.reliaquest.server.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.Set;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,8 +14,16 @@ import lombok.NonNull;
 @AllArgsConstructor
 @Builder(toBuilder = true)
 @JsonNaming(MockEmployee.PrefixNamingStrategy.class)
+@JsonFilter(MockEmployee.FIELDS_FILTER)
 public class MockEmployee {
 
+    /** Jackson filter narrowing an employee to the requested fields; unregistered, every property is written. */
+    public static final String FIELDS_FILTER = "mockEmployeeFields";
+
+    private static final PrefixNamingStrategy NAMING = new PrefixNamingStrategy();
+
+    private static final Set<String> PROPERTIES = Set.of("id", "name", "salary", "age", "title", "email");
+
     private UUID id;
     private String name;
     private Integer salary;
@@ -32,6 +42,17 @@ public class MockEmployee {
                 .build();
     }
 
+    /** JSON name of a property, named as itself ({@code salary}) or by its JSON name ({@code employee_salary}). */
+    public static String jsonName(@NonNull String field) {
+        if (PROPERTIES.contains(field)) {
+            return NAMING.translate(field);
+        }
+        if (PROPERTIES.stream().map(NAMING::translate).anyMatch(field::equals)) {
+            return field;
+        }
+        throw new IllegalArgumentException("Unknown employee field " + field);
+    }
+
     static class PrefixNamingStrategy extends PropertyNamingStrategies.NamingBase {
 
         @Override
@@ -5,15 +5,15 @@ import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @Service
@@ -22,14 +22,60 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final RosterEventPublisher rosterEventPublisher;
+
+    @Value("${mock.employees.max-page-size:1000}")
+    private int maxPageSize;
+
+    /** Cursors of following pages announced with an open-ended page. */
+    @Value("${mock.employees.page-cursors:32}")
+    private int pageCursors;
+
+    /** The roster and its version, consistent with each other however many writes run concurrently. */
+    public MockEmployeeStore.Snapshot getSnapshot() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    public MockEmployeeStore.Page getPage(Long after, Long until, int limit) {
+        return mockEmployeeStore.page(after, until, checkLimit(limit), pageCursors);
+    }
+
+    /** Random per server run: versions from another run mean nothing to this one. */
+    public String getEpoch() {
+        return mockEmployeeStore.epoch();
+    }
+
+    /** Up to {@code limit} creates and deletes after version {@code since}, or a resync signal if they are gone. */
+    public MockEmployeeStore.ChangeFeed getChanges(String epoch, long since, int limit) {
+        return mockEmployeeStore.changesSince(epoch, since, checkLimit(limit));
+    }
+
+    /** A stream of every create and delete from now on, opened by the roster's current epoch and version. */
+    public SseEmitter subscribeToChanges() {
+        return rosterEventPublisher.subscribe();
+    }
+
+    public Optional<Integer> getHighestSalary() {
+        return mockEmployeeStore.highestSalary();
+    }
+
+    /** Up to {@code limit} of the best paid employees, highest first. */
+    public List<MockEmployee> getTopEarners(int limit) {
+        return mockEmployeeStore.findBySalary(null, null, checkLimit(limit));
+    }
+
+    /** Up to {@code limit} employees earning between {@code min} and {@code max} inclusive, highest first. */
+    public List<MockEmployee> getBySalaryRange(Integer min, Integer max, int limit) {
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("min must not exceed max");
+        }
+        return mockEmployeeStore.findBySalary(min, max, checkLimit(limit));
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +83,24 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        rosterEventPublisher.publish(mockEmployeeStore.add(mockEmployee));
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
-        }
+        final var change = mockEmployeeStore.removeFirstByName(input.getName());
+        change.ifPresent(removed -> {
+            rosterEventPublisher.publish(removed);
+            log.debug("Removed employee: {}", removed.employee());
+        });
+        return change.isPresent();
+    }
 
-        return false;
+    private int checkLimit(int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        return limit;
     }
 }
@@ -0,0 +1,274 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.NonNull;
+
+/**
+ * Employee store published as immutable, versioned snapshots. Every version holds the roster in insertion order, an
+ * id index, a case-insensitive name index and a salary index, all {@link PersistentSortedMap}s sharing structure with
+ * the previous version. Readers take the current version from an {@link AtomicReference} and never lock, copy or see
+ * a write half applied. Writers build the next version in O(log n) and publish it with a compare-and-set, retrying on
+ * a race.
+ *
+ * <p>Each version also carries a change log of the last {@code changeLogCapacity} creates and deletes, keyed by the
+ * version they produced, so a reader holding version N can catch up with {@link #changesSince} instead of re-reading
+ * the roster. Versions restart with the process; the random {@link #epoch()} tells one run's versions from another's.
+ */
+public class MockEmployeeStore {
+
+    public static final int DEFAULT_CHANGE_LOG_CAPACITY = 10_000;
+
+    /** One consistent version of the store: its number and its employees in insertion order (an immutable view). */
+    public record Snapshot(long version, List<MockEmployee> employees) {}
+
+    /**
+     * One page of a version. {@code nextCursor} continues after it and is {@code null} on the last page. For an
+     * open-ended request {@code pageCursors} also lists the cursor after which each following page starts, so a client
+     * can fetch those pages in parallel as bounded ranges.
+     */
+    public record Page(long version, List<MockEmployee> employees, Long nextCursor, List<Long> pageCursors) {}
+
+    /** One create or delete, and the version it produced. */
+    public record Change(long version, ChangeType type, MockEmployee employee) {}
+
+    public enum ChangeType {
+        CREATED,
+        DELETED
+    }
+
+    /**
+     * The changes after a reader's version, oldest first, bringing it to {@code version}; {@code more} if further
+     * changes follow. {@code resync} means the log cannot bridge the gap, because the reader's version has aged out or
+     * comes from another epoch, and the roster must be read in full.
+     */
+    public record ChangeFeed(String epoch, long version, List<Change> changes, boolean more, boolean resync) {}
+
+    private record State(
+            long version,
+            long nextSequence,
+            PersistentSortedMap<Long, MockEmployee> inOrder,
+            PersistentSortedMap<UUID, Long> sequenceById,
+            PersistentSortedMap<String, PersistentSortedMap<Long, MockEmployee>> byName,
+            PersistentSortedMap<SalaryKey, MockEmployee> bySalary,
+            PersistentSortedMap<Long, Change> changes) {}
+
+    /** Orders the salary index highest salary first, then by insertion, so ties keep roster order. */
+    private record SalaryKey(int salary, long sequence) implements Comparable<SalaryKey> {
+
+        @Override
+        public int compareTo(SalaryKey other) {
+            int cmp = Integer.compare(other.salary, salary);
+            return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final AtomicReference<State> state = new AtomicReference<>(new State(
+            0,
+            0,
+            PersistentSortedMap.empty(),
+            PersistentSortedMap.empty(),
+            PersistentSortedMap.empty(),
+            PersistentSortedMap.empty(),
+            PersistentSortedMap.empty()));
+
+    private final String epoch = UUID.randomUUID().toString();
+
+    private final int changeLogCapacity;
+
+    public MockEmployeeStore(int changeLogCapacity) {
+        if (changeLogCapacity < 0) {
+            throw new IllegalArgumentException("changeLogCapacity must not be negative");
+        }
+        this.changeLogCapacity = changeLogCapacity;
+    }
+
+    public static MockEmployeeStore of(@NonNull Collection<MockEmployee> employees) {
+        return of(employees, DEFAULT_CHANGE_LOG_CAPACITY);
+    }
+
+    public static MockEmployeeStore of(@NonNull Collection<MockEmployee> employees, int changeLogCapacity) {
+        MockEmployeeStore store = new MockEmployeeStore(changeLogCapacity);
+        employees.forEach(store::add);
+        return store;
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public Snapshot snapshot() {
+        State current = state.get();
+        return new Snapshot(current.version(), current.inOrder().values());
+    }
+
+    /**
+     * Up to {@code limit} employees inserted after {@code after} and no later than {@code until}, both cursors and both
+     * optional. Cursors are insertion sequence numbers, which are never reused, so a page boundary stays put whatever
+     * is created or deleted meanwhile: a bounded range can only shrink, and new employees always land past the end.
+     */
+    public Page page(Long after, Long until, int limit, int maxPageCursors) {
+        State current = state.get();
+        var inOrder = current.inOrder();
+        int from = after == null ? 0 : inOrder.countAtMost(after);
+        int end = until == null ? inOrder.size() : inOrder.countAtMost(until);
+        int to = Math.max(from, Math.min(end, from + limit));
+        Long nextCursor = to < end ? inOrder.keyAt(to - 1) : null;
+        List<Long> pageCursors = new ArrayList<>();
+        if (until == null) {
+            for (int boundary = to; boundary < end && pageCursors.size() < maxPageCursors; boundary += limit) {
+                pageCursors.add(inOrder.keyAt(boundary - 1));
+            }
+        }
+        return new Page(current.version(), inOrder.values().subList(from, to), nextCursor, pageCursors);
+    }
+
+    /** Adds the employee and returns the change, which names the version it produced. */
+    public Change add(@NonNull MockEmployee employee) {
+        UUID id = Objects.requireNonNull(employee.getId(), "id");
+        while (true) {
+            State current = state.get();
+            Change change = new Change(current.version() + 1, ChangeType.CREATED, employee);
+            if (current.sequenceById().get(id) != null) {
+                throw new IllegalArgumentException("Duplicate employee id " + id);
+            }
+            long sequence = current.nextSequence();
+            var byName = current.byName();
+            if (employee.getName() != null) {
+                String key = key(employee.getName());
+                var namesakes = Objects.requireNonNullElse(
+                        byName.get(key), PersistentSortedMap.<Long, MockEmployee>empty());
+                byName = byName.put(key, namesakes.put(sequence, employee));
+            }
+            var bySalary = current.bySalary();
+            if (employee.getSalary() != null) {
+                bySalary = bySalary.put(new SalaryKey(employee.getSalary(), sequence), employee);
+            }
+            State next = new State(
+                    current.version() + 1,
+                    sequence + 1,
+                    current.inOrder().put(sequence, employee),
+                    current.sequenceById().put(id, sequence),
+                    byName,
+                    bySalary,
+                    log(current, change));
+            if (state.compareAndSet(current, next)) {
+                return change;
+            }
+        }
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        State current = state.get();
+        Long sequence = current.sequenceById().get(id);
+        return sequence == null ? Optional.empty() : Optional.of(current.inOrder().get(sequence));
+    }
+
+    /** Every employee with this name, ignoring case, oldest first. */
+    public List<MockEmployee> findByName(@NonNull String name) {
+        var namesakes = state.get().byName().get(key(name));
+        return namesakes == null ? List.of() : namesakes.values();
+    }
+
+    /** All employees in insertion order, as of the current version. */
+    public List<MockEmployee> findAll() {
+        return state.get().inOrder().values();
+    }
+
+    /** Removes the oldest employee with this name, ignoring case, and returns the change. */
+    public Optional<Change> removeFirstByName(@NonNull String name) {
+        String key = key(name);
+        while (true) {
+            State current = state.get();
+            var namesakes = current.byName().get(key);
+            if (namesakes == null) {
+                return Optional.empty();
+            }
+            MockEmployee employee = namesakes.firstValue();
+            Change change = new Change(current.version() + 1, ChangeType.DELETED, employee);
+            Long sequence = current.sequenceById().get(employee.getId());
+            var remaining = namesakes.remove(sequence);
+            var bySalary = current.bySalary();
+            if (employee.getSalary() != null) {
+                bySalary = bySalary.remove(new SalaryKey(employee.getSalary(), sequence));
+            }
+            State next = new State(
+                    current.version() + 1,
+                    current.nextSequence(),
+                    current.inOrder().remove(sequence),
+                    current.sequenceById().remove(employee.getId()),
+                    remaining.isEmpty() ? current.byName().remove(key) : current.byName().put(key, remaining),
+                    bySalary,
+                    log(current, change));
+            if (state.compareAndSet(current, next)) {
+                return Optional.of(change);
+            }
+        }
+    }
+
+    /** The highest salary, if anyone has one. */
+    public Optional<Integer> highestSalary() {
+        return Optional.ofNullable(state.get().bySalary().firstValue()).map(MockEmployee::getSalary);
+    }
+
+    /**
+     * Up to {@code limit} employees earning between {@code min} and {@code max} inclusive, either bound optional,
+     * highest salary first and ties in insertion order. The range is located in O(log n) without touching anyone
+     * outside it.
+     */
+    public List<MockEmployee> findBySalary(Integer min, Integer max, int limit) {
+        var bySalary = state.get().bySalary();
+        int from = max == null ? 0 : bySalary.countAtMost(new SalaryKey(max, -1));
+        int to = min == null ? bySalary.size() : bySalary.countAtMost(new SalaryKey(min, Long.MAX_VALUE));
+        return from >= to ? List.of() : bySalary.values().subList(from, Math.min(to, from + limit));
+    }
+
+    public int size() {
+        return state.get().inOrder().size();
+    }
+
+    public long version() {
+        return state.get().version();
+    }
+
+    /**
+     * Up to {@code limit} changes after version {@code since} of epoch {@code sinceEpoch}; a {@code null} epoch is
+     * taken to be the current one. Found in O(log n) in the log's size.
+     */
+    public ChangeFeed changesSince(String sinceEpoch, long since, int limit) {
+        State current = state.get();
+        var changes = current.changes();
+        boolean sameEpoch = sinceEpoch == null || sinceEpoch.equals(epoch);
+        // The log bridges the gap only if it still holds the change right after `since`.
+        boolean bridged = since == current.version()
+                || (!changes.isEmpty() && since < current.version() && changes.keyAt(0) <= since + 1);
+        if (!sameEpoch || since < 0 || !bridged) {
+            return new ChangeFeed(epoch, current.version(), List.of(), false, true);
+        }
+        int from = changes.countAtMost(since);
+        int to = Math.min(changes.size(), from + limit);
+        List<Change> page = changes.values().subList(from, to);
+        long reached = page.isEmpty() ? since : page.get(page.size() - 1).version();
+        return new ChangeFeed(epoch, reached, page, to < changes.size(), false);
+    }
+
+    /** The change log of {@code current} with one more entry, for the version about to be published. */
+    private PersistentSortedMap<Long, Change> log(State current, Change change) {
+        var changes = current.changes().put(change.version(), change);
+        while (changes.size() > changeLogCapacity) {
+            changes = changes.remove(changes.keyAt(0));
+        }
+        return changes;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
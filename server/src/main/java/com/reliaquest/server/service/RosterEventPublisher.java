@@ -0,0 +1,191 @@
+package com.reliaquest.server.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes every create and delete to subscribers as Server-Sent Events. Each subscription opens with a
+ * {@value #VERSION_EVENT} event naming the roster's epoch and version, gets one {@value #CHANGE_EVENT} event per change
+ * and another {@value #VERSION_EVENT} every {@code heartbeat-ms}. A subscriber compares each event's version with the
+ * last it applied: a jump means it missed changes and should read them from the change feed. The heartbeat also keeps
+ * idle connections from timing out.
+ *
+ * <p>Publishing only queues the event for each subscriber; a dispatch thread per busy subscriber writes it, so a slow
+ * client never holds up a write. A subscriber more than {@code queue-size} events behind is disconnected, to reconnect
+ * and catch up from the change feed. Concurrent writes may still queue their events out of version order; the version
+ * on each event is what counts.
+ */
+@Slf4j
+@Component
+public class RosterEventPublisher {
+
+    public static final String CHANGE_EVENT = "change";
+
+    public static final String VERSION_EVENT = "version";
+
+    /** Event payload: a change and the version it produced, or just the current version when {@code change} is null. */
+    public record RosterEvent(String epoch, long version, MockEmployeeStore.Change change) {}
+
+    private record NamedEvent(String name, RosterEvent event) {}
+
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final long timeoutMillis;
+
+    private final int queueSize;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService heartbeats =
+            Executors.newSingleThreadScheduledExecutor(daemonThreads("roster-event-heartbeat"));
+
+    /** Grows with the subscribers being written to at once, and never runs two sends to the same one. */
+    private final ExecutorService dispatcher = Executors.newCachedThreadPool(daemonThreads("roster-event-dispatch"));
+
+    public RosterEventPublisher(
+            MockEmployeeStore mockEmployeeStore,
+            @Value("${mock.employees.events.timeout-ms:300000}") long timeoutMillis,
+            @Value("${mock.employees.events.heartbeat-ms:10000}") long heartbeatMillis,
+            @Value("${mock.employees.events.queue-size:1024}") int queueSize) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("queueSize must be positive");
+        }
+        this.mockEmployeeStore = mockEmployeeStore;
+        this.timeoutMillis = timeoutMillis;
+        this.queueSize = queueSize;
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** A new subscription, closed after {@code timeout-ms} for the subscriber to reconnect. */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.enqueue(VERSION_EVENT, currentVersion());
+        log.debug("Roster event subscriber connected, {} in total", subscribers.size());
+        return emitter;
+    }
+
+    /** Queues the change for every subscriber without waiting for any of them. */
+    public void publish(MockEmployeeStore.Change change) {
+        RosterEvent event = new RosterEvent(mockEmployeeStore.epoch(), change.version(), change);
+        subscribers.forEach(subscriber -> subscriber.enqueue(CHANGE_EVENT, event));
+    }
+
+    @PreDestroy
+    public void close() {
+        heartbeats.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            RosterEvent event = currentVersion();
+            subscribers.forEach(subscriber -> subscriber.enqueue(VERSION_EVENT, event));
+        }
+    }
+
+    private RosterEvent currentVersion() {
+        return new RosterEvent(mockEmployeeStore.epoch(), mockEmployeeStore.version(), null);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** One subscription's pending events, written in order by at most one dispatch task at a time. */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Queue<NamedEvent> pending;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        void enqueue(String name, RosterEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!pending.offer(new NamedEvent(name, event))) {
+                // Completed by the dispatcher: the emitter may be mid-send to this slow client.
+                closed = true;
+                subscribers.remove(this);
+                log.debug("Dropping roster event subscriber more than {} events behind", queueSize);
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: close() completes every emitter.
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                NamedEvent next;
+                while (!closed && (next = pending.poll()) != null) {
+                    if (!send(next)) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    pending.clear();
+                    emitter.complete();
+                    return;
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared has no task to send it.
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private boolean send(NamedEvent next) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(next.name())
+                        .id(String.valueOf(next.event().version()))
+                        .data(next.event(), MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The subscriber is gone; it will reconnect and catch up from the version it holds.
+                closed = true;
+                subscribers.remove(this);
+                pending.clear();
+                log.debug("Dropped roster event subscriber: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.server.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** Each test makes one request, well inside the server's random request limit of at least five per window. */
+@WebMvcTest(MockEmployeeController.class)
+class EmployeeFieldsAdviceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MockEmployeeService mockEmployeeService;
+
+    private MockEmployee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Ada Lovelace")
+                .salary(120000)
+                .age(36)
+                .title("Analyst")
+                .email("ada@company.com")
+                .build();
+    }
+
+    @Test
+    void shouldWriteWholeEmployeesWithoutFields() throws Exception {
+        // Given
+        when(mockEmployeeService.getEpoch()).thenReturn("e");
+        when(mockEmployeeService.getSnapshot()).thenReturn(new MockEmployeeStore.Snapshot(1, List.of(employee)));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(employee.getId().toString()))
+                .andExpect(jsonPath("$.data[0].employee_name").value("Ada Lovelace"))
+                .andExpect(jsonPath("$.data[0].employee_salary").value(120000))
+                .andExpect(jsonPath("$.data[0].employee_age").value(36))
+                .andExpect(jsonPath("$.data[0].employee_title").value("Analyst"))
+                .andExpect(jsonPath("$.data[0].employee_email").value("ada@company.com"));
+    }
+
+    @Test
+    void shouldWriteOnlyListedFieldsAndAlwaysId() throws Exception {
+        // Given
+        when(mockEmployeeService.getEpoch()).thenReturn("e");
+        when(mockEmployeeService.getSnapshot()).thenReturn(new MockEmployeeStore.Snapshot(1, List.of(employee)));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/employee").param("fields", "salary, employee_name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(employee.getId().toString()))
+                .andExpect(jsonPath("$.data[0].employee_name").value("Ada Lovelace"))
+                .andExpect(jsonPath("$.data[0].employee_salary").value(120000))
+                .andExpect(jsonPath("$.data[0].employee_age").doesNotExist())
+                .andExpect(jsonPath("$.data[0].employee_title").doesNotExist())
+                .andExpect(jsonPath("$.data[0].employee_email").doesNotExist())
+                .andExpect(jsonPath("$.status").value("Successfully processed request."));
+    }
+
+    @Test
+    void shouldProjectSingleEmployee() throws Exception {
+        // Given
+        when(mockEmployeeService.findById(employee.getId())).thenReturn(Optional.of(employee));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/employee/{id}", employee.getId()).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(employee.getId().toString()))
+                .andExpect(jsonPath("$.data.employee_title").value("Analyst"))
+                .andExpect(jsonPath("$.data.employee_name").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectUnknownField() throws Exception {
+        // Given
+        when(mockEmployeeService.findById(employee.getId())).thenReturn(Optional.of(employee));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/employee/{id}", employee.getId()).param("fields", "name,nickname"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown employee field nickname"))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+}
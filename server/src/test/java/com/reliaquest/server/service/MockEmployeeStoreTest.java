@@ -0,0 +1,311 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore.ChangeFeed;
+import com.reliaquest.server.service.MockEmployeeStore.ChangeType;
+import com.reliaquest.server.service.MockEmployeeStore.Page;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    @Test
+    void shouldFindNamesakesIgnoringCaseOldestFirst() {
+        // Given
+        MockEmployee first = employee("Ada Lovelace", 100);
+        MockEmployee second = employee("ADA LOVELACE", 200);
+        MockEmployeeStore store = MockEmployeeStore.of(List.of(first, employee("Grace Hopper", 300), second));
+
+        // When
+        List<MockEmployee> namesakes = store.findByName("ada lovelace");
+
+        // Then
+        assertEquals(List.of(first, second), namesakes);
+        assertEquals(List.of(), store.findByName("Alan Turing"));
+    }
+
+    @Test
+    void shouldRemoveOldestNamesakeFromEveryIndex() {
+        // Given
+        MockEmployee first = employee("Ada Lovelace", 500);
+        MockEmployee second = employee("Ada Lovelace", 200);
+        MockEmployee other = employee("Grace Hopper", 300);
+        MockEmployeeStore store = MockEmployeeStore.of(List.of(first, other, second));
+
+        // When
+        MockEmployeeStore.Change change = store.removeFirstByName("ADA LOVELACE").orElseThrow();
+
+        // Then
+        assertEquals(new MockEmployeeStore.Change(4, ChangeType.DELETED, first), change);
+        assertEquals(4, store.version());
+        assertEquals(List.of(other, second), store.findAll());
+        assertEquals(List.of(second), store.findByName("Ada Lovelace"));
+        assertTrue(store.findById(first.getId()).isEmpty());
+        assertEquals(300, store.highestSalary().orElseThrow());
+        assertEquals(List.of(other, second), store.findBySalary(null, null, 10));
+    }
+
+    @Test
+    void shouldDropNameFromIndexWhenLastNamesakeIsRemoved() {
+        // Given
+        MockEmployeeStore store = MockEmployeeStore.of(List.of(employee("Ada Lovelace", 100)));
+
+        // When
+        store.removeFirstByName("Ada Lovelace");
+
+        // Then
+        assertEquals(List.of(), store.findByName("Ada Lovelace"));
+        assertTrue(store.removeFirstByName("Ada Lovelace").isEmpty());
+        assertEquals(2, store.version());
+        assertTrue(store.highestSalary().isEmpty());
+    }
+
+    @Test
+    void shouldRejectDuplicateIds() {
+        // Given
+        MockEmployee employee = employee("Ada Lovelace", 100);
+        MockEmployeeStore store = MockEmployeeStore.of(List.of(employee));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> store.add(employee.toBuilder()
+                .name("Someone Else")
+                .build()));
+        assertEquals(1, store.size());
+        assertEquals(1, store.version());
+    }
+
+    @Test
+    void shouldKeepIndexesConsistentUnderConcurrentAddsAndDeletes() throws Exception {
+        // Given
+        MockEmployeeStore store = MockEmployeeStore.of(List.of());
+        int threads = 4;
+        int perThread = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> writers = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            String own = "Writer " + t;
+            writers.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    store.add(employee("Shared Name", i));
+                    store.add(employee(own, i));
+                    if (i % 2 == 1) {
+                        assertTrue(store.removeFirstByName("shared name").isPresent());
+                    }
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        pool.shutdown();
+
+        // Then
+        assertEquals(threads * perThread * 3 / 2, store.size());
+        assertEquals(store.size(), store.findAll().size());
+        assertEquals(threads * perThread / 2, store.findByName("SHARED NAME").size());
+        assertEquals(perThread, store.findByName("Writer 0").size());
+        store.findAll().forEach(employee -> assertEquals(employee, store.findById(employee.getId()).orElseThrow()));
+    }
+
+    @Test
+    void shouldPageOpenEndedRangeWithCursorsForFollowingPages() {
+        // Given
+        List<MockEmployee> employees = employees(10);
+        MockEmployeeStore store = MockEmployeeStore.of(employees);
+
+        // When
+        Page first = store.page(null, null, 3, 32);
+        Page last = store.page(8L, null, 3, 32);
+        Page capped = store.page(null, null, 3, 1);
+
+        // Then
+        assertEquals(employees.subList(0, 3), first.employees());
+        assertEquals(2L, first.nextCursor());
+        assertEquals(List.of(2L, 5L, 8L), first.pageCursors());
+        assertEquals(10, first.version());
+        assertEquals(employees.subList(9, 10), last.employees());
+        assertNull(last.nextCursor());
+        assertEquals(List.of(), last.pageCursors());
+        assertEquals(List.of(2L), capped.pageCursors());
+    }
+
+    @Test
+    void shouldPageBoundedRangeWithoutCursorsAndKeepItsBoundaries() {
+        // Given
+        List<MockEmployee> employees = employees(10);
+        MockEmployeeStore store = MockEmployeeStore.of(employees);
+
+        // When
+        Page range = store.page(2L, 5L, 3, 32);
+        store.removeFirstByName(employees.get(4).getName());
+        store.add(employee("Newcomer", 1));
+        Page shrunk = store.page(2L, 5L, 3, 32);
+
+        // Then
+        assertEquals(employees.subList(3, 6), range.employees());
+        assertNull(range.nextCursor());
+        assertEquals(List.of(), range.pageCursors());
+        assertEquals(List.of(employees.get(3), employees.get(5)), shrunk.employees());
+        assertNull(shrunk.nextCursor());
+    }
+
+    @Test
+    void shouldReturnEmptyPagePastTheEnd() {
+        // Given
+        MockEmployeeStore store = MockEmployeeStore.of(employees(3));
+
+        // When
+        Page page = store.page(2L, null, 3, 32);
+        Page empty = new MockEmployeeStore(0).page(null, null, 3, 32);
+
+        // Then
+        assertEquals(List.of(), page.employees());
+        assertNull(page.nextCursor());
+        assertEquals(List.of(), page.pageCursors());
+        assertEquals(List.of(), empty.employees());
+        assertNull(empty.nextCursor());
+    }
+
+    @Test
+    void shouldFindSalariesWithinInclusiveBoundsHighestFirst() {
+        // Given
+        MockEmployee low = employee("Low", 100);
+        MockEmployee midFirst = employee("Mid First", 200);
+        MockEmployee midSecond = employee("Mid Second", 200);
+        MockEmployee high = employee("High", 300);
+        MockEmployeeStore store = MockEmployeeStore.of(List.of(midFirst, low, high, midSecond));
+
+        // When / Then
+        assertEquals(List.of(midFirst, midSecond), store.findBySalary(150, 250, 10));
+        assertEquals(List.of(midFirst, midSecond), store.findBySalary(200, 200, 10));
+        assertEquals(List.of(high, midFirst), store.findBySalary(null, null, 2));
+        assertEquals(List.of(low), store.findBySalary(null, 100, 10));
+        assertEquals(List.of(high), store.findBySalary(300, null, 10));
+        assertEquals(List.of(), store.findBySalary(250, 150, 10));
+        assertEquals(List.of(), store.findBySalary(400, null, 10));
+        assertEquals(List.of(), store.findBySalary(null, 50, 10));
+        assertEquals(List.of(), store.findBySalary(null, null, 0));
+    }
+
+    @Test
+    void shouldServeChangesWithinTheRetainedLog() {
+        // Given
+        MockEmployeeStore store = new MockEmployeeStore(3);
+        List<MockEmployee> employees = employees(5);
+        employees.forEach(store::add);
+
+        // When
+        ChangeFeed upToDate = store.changesSince(store.epoch(), 5, 10);
+        ChangeFeed all = store.changesSince(null, 2, 10);
+        ChangeFeed partial = store.changesSince(store.epoch(), 2, 2);
+
+        // Then
+        assertFalse(upToDate.resync());
+        assertEquals(List.of(), upToDate.changes());
+        assertEquals(5, upToDate.version());
+        assertFalse(all.resync());
+        assertEquals(List.of(3L, 4L, 5L), versions(all));
+        assertEquals(employees.subList(2, 5), all.changes().stream()
+                .map(MockEmployeeStore.Change::employee)
+                .toList());
+        assertFalse(all.more());
+        assertEquals(5, all.version());
+        assertEquals(List.of(3L, 4L), versions(partial));
+        assertEquals(4, partial.version());
+        assertTrue(partial.more());
+    }
+
+    @Test
+    void shouldAskForResyncPastTheRetentionWindow() {
+        // Given
+        MockEmployeeStore store = new MockEmployeeStore(3);
+        employees(5).forEach(store::add);
+
+        // When
+        ChangeFeed feed = store.changesSince(store.epoch(), 1, 10);
+
+        // Then
+        assertTrue(feed.resync());
+        assertEquals(List.of(), feed.changes());
+        assertEquals(5, feed.version());
+        assertEquals(store.epoch(), feed.epoch());
+    }
+
+    @Test
+    void shouldAskForResyncOnEpochMismatchOrUnknownVersion() {
+        // Given
+        MockEmployeeStore store = new MockEmployeeStore(3);
+        employees(2).forEach(store::add);
+
+        // When / Then
+        assertTrue(store.changesSince("another-epoch", 1, 10).resync());
+        assertTrue(store.changesSince(new MockEmployeeStore(3).epoch(), 1, 10).resync());
+        assertTrue(store.changesSince(store.epoch(), 3, 10).resync());
+        assertTrue(store.changesSince(store.epoch(), -1, 10).resync());
+        assertTrue(new MockEmployeeStore(0).changesSince(null, 0, 10).changes().isEmpty());
+    }
+
+    @Test
+    void shouldLogDeletesAndEvictOldestChanges() {
+        // Given
+        MockEmployeeStore store = new MockEmployeeStore(2);
+        List<MockEmployee> employees = employees(2);
+        employees.forEach(store::add);
+
+        // When
+        store.removeFirstByName(employees.get(0).getName());
+        ChangeFeed feed = store.changesSince(null, 1, 10);
+
+        // Then
+        assertEquals(List.of(2L, 3L), versions(feed));
+        assertEquals(ChangeType.DELETED, feed.changes().get(1).type());
+        assertEquals(employees.get(0), feed.changes().get(1).employee());
+        assertTrue(store.changesSince(null, 0, 10).resync());
+    }
+
+    @Test
+    void shouldKeepEarlierSnapshotsUnchangedByLaterWrites() {
+        // Given
+        List<MockEmployee> employees = employees(3);
+        MockEmployeeStore store = MockEmployeeStore.of(employees);
+        MockEmployeeStore.Snapshot before = store.snapshot();
+
+        // When
+        store.removeFirstByName(employees.get(1).getName());
+        store.add(employee("Newcomer", 1));
+
+        // Then
+        assertEquals(3, before.version());
+        assertEquals(employees, new ArrayList<>(before.employees()));
+        assertEquals(5, store.snapshot().version());
+        assertEquals(3, store.snapshot().employees().size());
+    }
+
+    private static List<Long> versions(ChangeFeed feed) {
+        return feed.changes().stream().map(MockEmployeeStore.Change::version).toList();
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> employee("Employee " + i, 1_000 + i))
+                .toList();
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class PersistentSortedMapTest {
+
+    @Test
+    void shouldMatchTreeMapAndStayBalancedUnderRandomChurn() {
+        // Given
+        Random random = new Random(42);
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.empty();
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, "v" + i);
+                map = map.put(key, "v" + i);
+            }
+            if (i % 1_000 == 0) {
+                assertBalanced(map);
+            }
+        }
+
+        // Then
+        assertBalanced(map);
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.values()), map.values());
+        List<Integer> keys = new ArrayList<>(expected.keySet());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(keys.get(i), map.keyAt(i));
+            assertEquals(expected.get(keys.get(i)), map.get(keys.get(i)));
+        }
+        for (int key = -1; key <= 2_000; key += 7) {
+            assertEquals(expected.headMap(key, true).size(), map.countAtMost(key));
+        }
+        assertEquals(expected.firstEntry().getValue(), map.firstValue());
+    }
+
+    @Test
+    void shouldStayBalancedUnderAscendingInsertsAndRemoves() {
+        // Given
+        PersistentSortedMap<Integer, Integer> map = PersistentSortedMap.empty();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            map = map.put(i, i);
+        }
+        assertBalanced(map);
+        for (int i = 0; i < 9_000; i++) {
+            map = map.remove(i);
+        }
+
+        // Then
+        assertBalanced(map);
+        assertEquals(1_000, map.size());
+        assertEquals(9_000, map.firstValue());
+    }
+
+    @Test
+    void shouldLeaveOlderVersionsUntouchedByLaterWrites() {
+        // Given
+        PersistentSortedMap<Integer, String> v1 = PersistentSortedMap.<Integer, String>empty()
+                .put(1, "a")
+                .put(2, "b")
+                .put(3, "c");
+        List<String> v1Values = v1.values();
+
+        // When
+        PersistentSortedMap<Integer, String> v2 = v1.remove(2).put(4, "d").put(1, "A");
+
+        // Then
+        assertEquals(List.of("a", "b", "c"), v1Values);
+        assertEquals(List.of("a", "b", "c"), v1.values());
+        assertEquals(3, v1.size());
+        assertEquals("b", v1.get(2));
+        assertEquals(List.of("A", "c", "d"), v2.values());
+        assertNull(v2.get(2));
+    }
+
+    @Test
+    void shouldReturnSameMapWhenRemovingAbsentKey() {
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.<Integer, String>empty().put(1, "a");
+
+        assertSame(map, map.remove(2));
+        PersistentSortedMap<Integer, String> empty = PersistentSortedMap.empty();
+        assertSame(empty, empty.remove(1));
+    }
+
+    @Test
+    void shouldRejectNullValuesAndOutOfRangeIndexes() {
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.<Integer, String>empty().put(1, "a");
+
+        assertThrows(NullPointerException.class, () -> map.put(2, null));
+        assertThrows(IndexOutOfBoundsException.class, () -> map.keyAt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> map.values().get(-1));
+        assertNull(PersistentSortedMap.<Integer, String>empty().firstValue());
+    }
+
+    /** The AVL bound: a tree of n keys is at most about 1.44 log2(n + 2) levels deep. */
+    private static void assertBalanced(PersistentSortedMap<?, ?> map) {
+        double bound = 1.4405 * Math.log(map.size() + 2) / Math.log(2) - 0.3277;
+        assertTrue(map.height() <= bound, "height " + map.height() + " exceeds AVL bound for " + map.size() + " keys");
+    }
+}